@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacement candidates computation : shared parsed script as before, new script instance per run, memoized.
+ * Run with : mvn -Pjmh test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplacingIgmRuleEngineBenchmark {
+
+    @Param({"2021-01-11T03:30:00Z", "2021-01-14T09:30:00Z", "2021-01-17T15:30:00Z"})
+    private String timestamp;
+
+    private Script sharedScript;
+
+    private ReplacingIgmRuleEngine ruleEngine;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ClassPathResource("replaceIGM.groovy").getInputStream(), StandardCharsets.UTF_8)) {
+            sharedScript = new GroovyShell().parse(reader);
+        }
+        ruleEngine = ReplacingIgmRuleEngine.fromResource("replaceIGM.groovy");
+    }
+
+    @Benchmark
+    public List<ReplacingDate> sharedScript() {
+        // previous path : binding of the single parsed script replaced before each run, not thread safe
+        Binding binding = new Binding();
+        binding.setVariable("timestamp", timestamp);
+        binding.setVariable("processName", "SWE_2D");
+        binding.setVariable("businessProcess", "2D");
+        sharedScript.setBinding(binding);
+        List<ReplacingDate> res = new ArrayList<>();
+        for (Object elt : (List<?>) sharedScript.run()) {
+            String[] splitted = ((String) elt).split("\\s+");
+            res.add(new ReplacingDate(splitted[0], splitted[1]));
+        }
+        return res;
+    }
+
+    @Benchmark
+    public List<ReplacingDate> scriptInstancePerRun() {
+        return ruleEngine.runScript(timestamp, "SWE_2D", "2D");
+    }
+
+    @Benchmark
+    public List<ReplacingDate> memoized() {
+        return ruleEngine.getReplacingDates(timestamp, "SWE_2D", "2D");
+    }
+}
@@ -10,8 +10,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import com.powsybl.commons.PowsyblException;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.CircuitBreakers;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.ResilientCalls;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -38,18 +45,34 @@ public class BalancesAdjustmentService {
 
     private static final String BALANCE_ADJUSTEMENT_API_VERSION = "v1";
     private static final String DELIMITER = "/";
+    private static final String BULKHEAD = "balances-adjustment-server";
 
     private RestTemplate balancesAdjustmentServerRest;
 
+    private Bulkhead bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    private RetryPolicy retryPolicy;
+
     @Autowired
     public BalancesAdjustmentService(RestTemplateBuilder builder,
-            @Value("${gridsuite.services.balances-adjustment-server.base-uri:http://balances-adjustment-server/}") String balanceAdjustementBaseUri) {
+            @Value("${gridsuite.services.balances-adjustment-server.base-uri:http://balances-adjustment-server/}") String balanceAdjustementBaseUri,
+            Bulkheads bulkheads,
+            CircuitBreakers circuitBreakers,
+            RetryPolicy downstreamRetryPolicy) {
         this.balancesAdjustmentServerRest = builder.uriTemplateHandler(
                 new DefaultUriBuilderFactory(balanceAdjustementBaseUri)).build();
+        this.bulkhead = bulkheads.get(BULKHEAD);
+        this.circuitBreaker = circuitBreakers.get(BULKHEAD);
+        this.retryPolicy = downstreamRetryPolicy;
     }
 
     public BalancesAdjustmentService(RestTemplate restTemplate) {
         this.balancesAdjustmentServerRest = restTemplate;
+        this.bulkhead = new Bulkhead(BULKHEAD);
+        this.circuitBreaker = new CircuitBreaker(BULKHEAD);
+        this.retryPolicy = RetryPolicy.NO_RETRY;
     }
 
     public String doBalance(List<UUID> networksIds) {
@@ -72,14 +95,18 @@ public class BalancesAdjustmentService {
             }
             String uri = uriBuilder.build().toUriString();
 
-            ResponseEntity<String> res = balancesAdjustmentServerRest.exchange(uri,
+            ResponseEntity<String> res = ResilientCalls.call(BULKHEAD, retryPolicy, bulkhead, circuitBreaker, () -> balancesAdjustmentServerRest.exchange(uri,
                     HttpMethod.PUT,
                     requestEntity,
                     String.class,
-                    networksIds.get(0).toString());
+                    networksIds.get(0).toString()));
             return res.getBody();
         } catch (FileNotFoundException e) {
             throw new PowsyblException("No target net positions file found");
         }
     }
+
+    public CompletableFuture<String> doBalanceAsync(List<UUID> networksIds) {
+        return bulkhead.supplyAsync(() -> doBalance(networksIds));
+    }
 }
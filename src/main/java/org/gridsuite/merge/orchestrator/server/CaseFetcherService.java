@@ -6,14 +6,19 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import com.powsybl.network.store.client.NetworkStoreService;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
 import org.gridsuite.merge.orchestrator.server.dto.CaseInfos;
 import org.gridsuite.merge.orchestrator.server.dto.FileInfos;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,17 +45,31 @@ public class CaseFetcherService {
 
     private static final String CASE_API_VERSION = "v1";
     private static final String DELIMITER = "/";
+    private static final String BULKHEAD = "case-server";
 
     private RestTemplate caseServerRest;
 
+    private Bulkhead bulkhead;
+
     @Autowired
     public CaseFetcherService(RestTemplateBuilder builder,
-            @Value("${powsybl.services.case-server.base-uri:http://case-server/}") String caseServerBaseUri) {
+            @Value("${powsybl.services.case-server.base-uri:http://case-server/}") String caseServerBaseUri,
+            Bulkheads bulkheads) {
         this.caseServerRest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(caseServerBaseUri)).build();
+        this.bulkhead = bulkheads.get(BULKHEAD);
     }
 
     public CaseFetcherService(RestTemplate restTemplate) {
         this.caseServerRest = restTemplate;
+        this.bulkhead = new Bulkhead(BULKHEAD);
+    }
+
+    /**
+     * Consumer of a case content, read while it is downloaded
+     */
+    @FunctionalInterface
+    public interface CaseContentConsumer {
+        void accept(InputStream content) throws IOException;
     }
 
     private String getSearchQuery(List<String> tsos, ZonedDateTime dateTime, String format, String businessProcess) {
@@ -69,10 +88,10 @@ public class CaseFetcherService {
     public List<CaseInfos> getCases(List<String> tsos, ZonedDateTime dateTime, String format, String businessProcess) {
         String uri = DELIMITER + CASE_API_VERSION + "/cases/search?q={q}";
         try {
-            ResponseEntity<List<Map<String, String>>> responseEntity = caseServerRest.exchange(uri, HttpMethod.GET,
+            ResponseEntity<List<Map<String, String>>> responseEntity = bulkhead.call(() -> caseServerRest.exchange(uri, HttpMethod.GET,
                     HttpEntity.EMPTY, new ParameterizedTypeReference<List<Map<String, String>>>() {
                     },
-                    getSearchQuery(tsos, dateTime, format, businessProcess));
+                    getSearchQuery(tsos, dateTime, format, businessProcess)));
             List<Map<String, String>> body = responseEntity.getBody();
             if (body != null) {
                 return body.stream().map(c -> new CaseInfos(c.get("name"),
@@ -94,12 +113,24 @@ public class CaseFetcherService {
         List<FileInfos> cases = new ArrayList<>();
         String uri = DELIMITER + CASE_API_VERSION + "/cases/{caseUuid}?xiidm=false";
         for (UUID caseUuid : caseUuids) {
-            ResponseEntity<byte[]> responseEntity = caseServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY,
+            ResponseEntity<byte[]> responseEntity = bulkhead.call(() -> caseServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY,
                     new ParameterizedTypeReference<byte[]>() {
-                    }, caseUuid.toString());
+                    }, caseUuid.toString()));
             String fileName = caseUuid.toString();
             cases.add(new FileInfos(fileName, responseEntity.getBody()));
         }
         return cases;
     }
+
+    public void getCase(UUID caseUuid, CaseContentConsumer consumer) {
+        String uri = DELIMITER + CASE_API_VERSION + "/cases/{caseUuid}?xiidm=false";
+        bulkhead.run(() -> caseServerRest.execute(uri, HttpMethod.GET, null, response -> {
+            consumer.accept(response.getBody());
+            return null;
+        }, caseUuid.toString()));
+    }
+
+    public CompletableFuture<List<CaseInfos>> getCasesAsync(List<String> tsos, ZonedDateTime dateTime, String format, String businessProcess) {
+        return bulkhead.supplyAsync(() -> getCases(tsos, dateTime, format, businessProcess));
+    }
 }
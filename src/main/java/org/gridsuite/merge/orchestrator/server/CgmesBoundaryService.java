@@ -7,16 +7,24 @@
 package org.gridsuite.merge.orchestrator.server;
 
 import com.powsybl.network.store.client.NetworkStoreService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
 import org.gridsuite.merge.orchestrator.server.dto.BoundaryContent;
 import org.gridsuite.merge.orchestrator.server.dto.FileInfos;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,10 +33,17 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -45,28 +60,195 @@ public class CgmesBoundaryService {
     private static final String ID_KEY = "id";
     private static final String FILE_NAME_KEY = "filename";
     private static final String BOUNDARY_KEY = "boundary";
+    private static final String BULKHEAD = "cgmes-boundary-server";
 
     private RestTemplate cgmesBoundaryServerRest;
 
+    private final Bulkhead bulkhead;
+
+    // boundary contents by id, least recently used first : a boundary id always designates the same content
+    private final LinkedHashMap<String, BoundaryContent> boundariesCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long cacheMaxBytes;
+    private long cacheBytes;
+    private final Map<String, Object> fetchLocks = new ConcurrentHashMap<>();
+
+    // ids of the last boundaries, trusted until their expiration then revalidated using the server ETag
+    private record LastBoundaries(List<String> ids, String etag, Instant expiration) {
+    }
+
+    private final Duration lastBoundariesTtl;
+    private volatile LastBoundaries lastBoundaries;
+    // concurrent revalidations of the last boundaries wait for a single fetch, outside of the cache monitor
+    private final Object lastBoundariesLock = new Object();
+
+    private final Clock clock;
+
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
     @Autowired
     public CgmesBoundaryService(RestTemplateBuilder builder,
-            @Value("${gridsuite.services.cgmes-boundary-server.base-uri:http://cgmes-boundary-server/}") String cgmesBoundaryServerBaseUri) {
-        this.cgmesBoundaryServerRest = builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(cgmesBoundaryServerBaseUri))
-                .build();
+            @Value("${gridsuite.services.cgmes-boundary-server.base-uri:http://cgmes-boundary-server/}") String cgmesBoundaryServerBaseUri,
+            @Value("${merge-orchestrator.boundary-cache.max-bytes:268435456}") long cacheMaxBytes,
+            @Value("${merge-orchestrator.boundary-cache.last-ttl-seconds:30}") long lastBoundariesTtlSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Bulkheads bulkheads) {
+        this(builder.uriTemplateHandler(new DefaultUriBuilderFactory(cgmesBoundaryServerBaseUri)).build(),
+                cacheMaxBytes, Duration.ofSeconds(lastBoundariesTtlSeconds), Clock.systemUTC(), meterRegistry.getIfAvailable(), bulkheads.get(BULKHEAD));
     }
 
     public CgmesBoundaryService(RestTemplate restTemplate) {
+        this(restTemplate, 0, Duration.ZERO, Clock.systemUTC(), null);
+    }
+
+    public CgmesBoundaryService(RestTemplate restTemplate, long cacheMaxBytes, Duration lastBoundariesTtl, Clock clock, MeterRegistry meterRegistry) {
+        this(restTemplate, cacheMaxBytes, lastBoundariesTtl, clock, meterRegistry, new Bulkhead(BULKHEAD));
+    }
+
+    private CgmesBoundaryService(RestTemplate restTemplate, long cacheMaxBytes, Duration lastBoundariesTtl, Clock clock, MeterRegistry meterRegistry, Bulkhead bulkhead) {
         this.cgmesBoundaryServerRest = restTemplate;
+        this.bulkhead = bulkhead;
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.lastBoundariesTtl = lastBoundariesTtl;
+        this.clock = clock;
+        if (meterRegistry != null) {
+            cacheHits = Counter.builder("merge.boundary.cache.requests").tag("result", "hit")
+                    .description("Boundary cache lookups served without fetching boundary content").register(meterRegistry);
+            cacheMisses = Counter.builder("merge.boundary.cache.requests").tag("result", "miss")
+                    .description("Boundary cache lookups that fetched boundary content from the cgmes boundary server").register(meterRegistry);
+            Gauge.builder("merge.boundary.cache.size", this, CgmesBoundaryService::getCacheBytes).baseUnit("bytes")
+                    .description("Size of the boundary contents held in cache").register(meterRegistry);
+            Gauge.builder("merge.boundary.cache.entries", this, CgmesBoundaryService::getCacheEntries)
+                    .description("Number of boundaries held in cache").register(meterRegistry);
+        }
+    }
+
+    private boolean isCacheEnabled() {
+        return cacheMaxBytes > 0;
+    }
+
+    synchronized double getCacheBytes() {
+        return cacheBytes;
+    }
+
+    synchronized double getCacheEntries() {
+        return boundariesCache.size();
+    }
+
+    private static long sizeOf(BoundaryContent boundary) {
+        // boundary contents are ascii xml, held in a latin1 compacted string
+        return boundary.getBoundary() != null ? boundary.getBoundary().length() : 0;
+    }
+
+    private synchronized Optional<BoundaryContent> getCachedBoundary(String boundaryId) {
+        return Optional.ofNullable(boundariesCache.get(boundaryId));
+    }
+
+    private synchronized void cacheBoundary(BoundaryContent boundary) {
+        long size = sizeOf(boundary);
+        if (!isCacheEnabled() || boundary.getId() == null || size > cacheMaxBytes) {
+            return;
+        }
+        BoundaryContent previous = boundariesCache.put(boundary.getId(), boundary);
+        cacheBytes += size - (previous != null ? sizeOf(previous) : 0);
+        Iterator<BoundaryContent> it = boundariesCache.values().iterator();
+        while (cacheBytes > cacheMaxBytes && it.hasNext()) {
+            cacheBytes -= sizeOf(it.next());
+            it.remove();
+        }
+    }
+
+    private void countHit() {
+        if (cacheHits != null) {
+            cacheHits.increment();
+        }
+    }
+
+    private void countMiss() {
+        if (cacheMisses != null) {
+            cacheMisses.increment();
+        }
     }
 
     public List<BoundaryContent> getLastBoundaries() {
+        if (!isCacheEnabled()) {
+            return fetchLastBoundaries(null).boundaries();
+        }
+        Optional<List<BoundaryContent>> cached = getUnexpiredLastBoundaries();
+        if (cached.isPresent()) {
+            countHit();
+            return cached.get();
+        }
+        synchronized (lastBoundariesLock) {
+            // revalidated meanwhile by another caller
+            cached = getUnexpiredLastBoundaries();
+            if (cached.isPresent()) {
+                countHit();
+                return cached.get();
+            }
+            LastBoundaries current = lastBoundaries;
+            // revalidate only if the contents of the last boundaries are still available locally
+            Optional<List<BoundaryContent>> previous = current != null ? getCachedBoundaries(current.ids()) : Optional.empty();
+            FetchedLastBoundaries fetched = fetchLastBoundaries(previous.isPresent() ? current.etag() : null);
+            Instant expiration = clock.instant().plus(lastBoundariesTtl);
+            if (fetched == null) {
+                // not modified
+                lastBoundaries = new LastBoundaries(current.ids(), current.etag(), expiration);
+                countHit();
+                return previous.get();
+            }
+            countMiss();
+            if (!fetched.boundaries().isEmpty()) {
+                fetched.boundaries().forEach(this::cacheBoundary);
+                lastBoundaries = new LastBoundaries(fetched.boundaries().stream().map(BoundaryContent::getId).collect(Collectors.toList()),
+                        fetched.etag(), expiration);
+            }
+            return fetched.boundaries();
+        }
+    }
+
+    private Optional<List<BoundaryContent>> getUnexpiredLastBoundaries() {
+        LastBoundaries current = lastBoundaries;
+        if (current == null || !clock.instant().isBefore(current.expiration())) {
+            return Optional.empty();
+        }
+        return getCachedBoundaries(current.ids());
+    }
+
+    private Optional<List<BoundaryContent>> getCachedBoundaries(List<String> boundaryIds) {
+        List<BoundaryContent> boundaries = new ArrayList<>();
+        for (String boundaryId : boundaryIds) {
+            Optional<BoundaryContent> boundary = getCachedBoundary(boundaryId);
+            if (boundary.isEmpty()) {
+                return Optional.empty();
+            }
+            boundaries.add(boundary.get());
+        }
+        return Optional.of(boundaries);
+    }
+
+    private record FetchedLastBoundaries(List<BoundaryContent> boundaries, String etag) {
+    }
+
+    /**
+     * Returns null if an etag was given and the last boundaries have not been modified since
+     */
+    private FetchedLastBoundaries fetchLastBoundaries(String etag) {
         List<BoundaryContent> lastBoundaries = new ArrayList<>();
+        String lastBoundariesEtag = null;
         String uri = DELIMITER + CGMES_BOUNDARY_API_VERSION + "/boundaries/last";
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
         try {
-            ResponseEntity<List<Map<String, String>>> responseEntity = cgmesBoundaryServerRest.exchange(uri,
-                    HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<List<Map<String, String>>>() {
-                    });
+            ResponseEntity<List<Map<String, String>>> responseEntity = bulkhead.call(() -> cgmesBoundaryServerRest.exchange(uri,
+                    HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<List<Map<String, String>>>() {
+                    }));
+            if (etag != null && responseEntity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return null;
+            }
+            lastBoundariesEtag = responseEntity.getHeaders().getETag();
             List<Map<String, String>> body = responseEntity.getBody();
             if (body != null) {
                 lastBoundaries = body.stream().map(c -> new BoundaryContent(c.get(ID_KEY),
@@ -79,15 +261,43 @@ public class CgmesBoundaryService {
         } catch (RestClientException e) {
             LOGGER.error("Error searching boundaries: {}", e.getMessage());
         }
-        return lastBoundaries;
+        return new FetchedLastBoundaries(lastBoundaries, lastBoundariesEtag);
     }
 
     public Optional<BoundaryContent> getBoundary(String boundaryId) {
+        if (!isCacheEnabled()) {
+            return fetchBoundary(boundaryId);
+        }
+        Optional<BoundaryContent> cached = getCachedBoundary(boundaryId);
+        if (cached.isPresent()) {
+            countHit();
+            return cached;
+        }
+        // concurrent requests of the same missing boundary wait for a single fetch
+        Object fetchLock = fetchLocks.computeIfAbsent(boundaryId, id -> new Object());
+        try {
+            synchronized (fetchLock) {
+                cached = getCachedBoundary(boundaryId);
+                if (cached.isPresent()) {
+                    countHit();
+                    return cached;
+                }
+                countMiss();
+                Optional<BoundaryContent> boundary = fetchBoundary(boundaryId);
+                boundary.ifPresent(this::cacheBoundary);
+                return boundary;
+            }
+        } finally {
+            fetchLocks.remove(boundaryId, fetchLock);
+        }
+    }
+
+    private Optional<BoundaryContent> fetchBoundary(String boundaryId) {
         String uri = DELIMITER + CGMES_BOUNDARY_API_VERSION + "/boundaries/" + boundaryId;
         try {
-            ResponseEntity<Map<String, String>> responseEntity = cgmesBoundaryServerRest.exchange(uri, HttpMethod.GET,
-                    HttpEntity.EMPTY, new ParameterizedTypeReference<>() {
-                    });
+            ResponseEntity<Map<String, String>> responseEntity = bulkhead.call(() -> cgmesBoundaryServerRest.exchange(uri, HttpMethod.GET,
+                    HttpEntity.EMPTY, new ParameterizedTypeReference<Map<String, String>>() {
+                    }));
             Map<String, String> body = responseEntity.getBody();
             if (body != null) {
                 return Optional
@@ -101,6 +311,14 @@ public class CgmesBoundaryService {
         return Optional.empty();
     }
 
+    public CompletableFuture<List<BoundaryContent>> getLastBoundariesAsync() {
+        return bulkhead.supplyAsync(this::getLastBoundaries);
+    }
+
+    public CompletableFuture<Optional<BoundaryContent>> getBoundaryAsync(String boundaryId) {
+        return bulkhead.supplyAsync(() -> getBoundary(boundaryId));
+    }
+
     public static List<FileInfos> getFileInfosBoundaries(List<BoundaryContent> boundaryInfos) {
         List<FileInfos> boundaries = new ArrayList<>();
         for (BoundaryContent boundary : boundaryInfos) {
@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.gridsuite.merge.orchestrator.server.dto.BoundaryContent;
+import org.gridsuite.merge.orchestrator.server.dto.FileStreamInfos;
+import org.gridsuite.merge.orchestrator.server.repositories.IgmEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Local disk cache of the merge exports, evicting the least recently downloaded exports above a size limit.
+ * An export is served from cache as long as it has been computed from the same merge status and report, IGMs and
+ * boundaries, as read from the database by each instance, and no merge event has been received since by this
+ * instance for its process and date.
+ */
+@Service
+public class ExportCacheService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportCacheService.class);
+
+    private record ExportKey(UUID processUuid, LocalDateTime date, String format) {
+    }
+
+    // a null process uuid designates all the processes of a date
+    private record MergeKey(UUID processUuid, LocalDateTime date) {
+    }
+
+    private record Entry(String fingerprint, String name, Path file, long size) {
+    }
+
+    // invalidations tracked to recognize the exports invalidated while written
+    private static final int MAX_TRACKED_INVALIDATIONS = 1024;
+
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final long maxSizeBytes;
+
+    // least recently used first
+    private final LinkedHashMap<ExportKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+
+    // sequence number of the last invalidation of the most recently invalidated merges, oldest first
+    private final LinkedHashMap<MergeKey, Long> lastInvalidations = new LinkedHashMap<>();
+    // last invalidation sequence number no longer tracked
+    private long forgottenInvalidationSequence = -1;
+    private long invalidationSequence;
+
+    @Autowired
+    public ExportCacheService(@Value("${merge-orchestrator.export-cache.directory:}") String directory,
+                              @Value("${merge-orchestrator.export-cache.max-size-bytes:2147483648}") long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+        this.temporaryDirectory = directory.isEmpty();
+        try {
+            if (temporaryDirectory) {
+                this.directory = Files.createTempDirectory("merge-export-cache");
+            } else {
+                // entries are only indexed in memory : exports left by a previous run cannot be served
+                this.directory = Files.createDirectories(Paths.get(directory));
+                FileUtils.cleanDirectory(this.directory.toFile());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (temporaryDirectory) {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    private boolean isEnabled() {
+        return maxSizeBytes > 0;
+    }
+
+    /**
+     * Fingerprint of the merge state an export is computed from, the merge being null if not created yet
+     */
+    public static String fingerprint(String fileName, MergeEntity merge, List<IgmEntity> igms, List<BoundaryContent> boundaries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+            if (merge != null) {
+                digest.update(("|" + merge.getStatus() + ":" + merge.getReportUUID()).getBytes(StandardCharsets.UTF_8));
+            }
+            igms.stream().sorted(Comparator.comparing(igm -> igm.getKey().getTso()))
+                    .forEach(igm -> digest.update(("|" + igm.getKey().getTso() + ":" + igm.getNetworkUuid() + ":" + igm.getCaseUuid()).getBytes(StandardCharsets.UTF_8)));
+            boundaries.forEach(boundary -> digest.update(("|" + boundary.getId()).getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized Optional<FileStreamInfos> get(UUID processUuid, LocalDateTime date, String format, String fingerprint) {
+        ExportKey key = new ExportKey(processUuid, date, format);
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.fingerprint().equals(fingerprint)) {
+            return Optional.empty();
+        }
+        // opened when written only, so that nothing is held by a response never written
+        return Optional.of(new FileStreamInfos(entry.name(), outputStream -> {
+            try (InputStream is = open(key, fingerprint)) {
+                is.transferTo(outputStream);
+            }
+        }));
+    }
+
+    /**
+     * Opens the content of a cached export, which remains readable if the entry is evicted while it is read
+     */
+    private synchronized InputStream open(ExportKey key, String fingerprint) throws IOException {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.fingerprint().equals(fingerprint)) {
+            throw new IOException("Cached export " + key + " evicted before being written");
+        }
+        try {
+            return Files.newInputStream(entry.file());
+        } catch (IOException e) {
+            LOGGER.warn("Cached export {} unreadable : {}", entry.file(), e.getMessage());
+            remove(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the given export, cached while it is written
+     */
+    public FileStreamInfos cache(UUID processUuid, LocalDateTime date, String format, String fingerprint, FileStreamInfos export) {
+        if (!isEnabled()) {
+            return export;
+        }
+        // the invalidations from now on discard the export, as it has been computed from the current merge state
+        long sequence = getInvalidationSequence();
+        return new FileStreamInfos(export.getName(), outputStream -> {
+            Path file = null;
+            try {
+                file = Files.createTempFile(directory, "export-", ".tmp");
+                try (OutputStream fileOutputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    export.getData().writeTo(new TeeOutputStream(outputStream, fileOutputStream));
+                }
+                if (put(new ExportKey(processUuid, date, format), new Entry(fingerprint, export.getName(), file, Files.size(file)), sequence)) {
+                    file = null;
+                }
+            } finally {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        });
+    }
+
+    private synchronized long getInvalidationSequence() {
+        return invalidationSequence;
+    }
+
+    private synchronized boolean put(ExportKey key, Entry entry, long sequence) {
+        // merge invalidated while exporting, or possibly if its invalidation is no longer tracked
+        if (forgottenInvalidationSequence >= sequence
+                || lastInvalidations.getOrDefault(new MergeKey(key.processUuid(), key.date()), -1L) >= sequence
+                || lastInvalidations.getOrDefault(new MergeKey(null, key.date()), -1L) >= sequence
+                || entry.size() > maxSizeBytes) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, entry);
+        sizeBytes += entry.size();
+        Iterator<Map.Entry<ExportKey, Entry>> it = entries.entrySet().iterator();
+        while (sizeBytes > maxSizeBytes && it.hasNext()) {
+            Entry evicted = it.next().getValue();
+            it.remove();
+            deleteEntryFile(evicted);
+        }
+        return true;
+    }
+
+    private void remove(ExportKey key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            deleteEntryFile(removed);
+        }
+    }
+
+    private void deleteEntryFile(Entry entry) {
+        sizeBytes -= entry.size();
+        FileUtils.deleteQuietly(entry.file().toFile());
+    }
+
+    /**
+     * Invalidates the exports of a process at a date
+     */
+    public synchronized void invalidate(UUID processUuid, LocalDateTime date) {
+        invalidate(new MergeKey(processUuid, date));
+    }
+
+    /**
+     * Invalidates the exports of all the processes at a date
+     */
+    public synchronized void invalidate(LocalDateTime date) {
+        invalidate(new MergeKey(null, date));
+    }
+
+    private void invalidate(MergeKey mergeKey) {
+        if (!isEnabled()) {
+            return;
+        }
+        lastInvalidations.remove(mergeKey);
+        lastInvalidations.put(mergeKey, invalidationSequence);
+        if (lastInvalidations.size() > MAX_TRACKED_INVALIDATIONS) {
+            Iterator<Long> oldest = lastInvalidations.values().iterator();
+            forgottenInvalidationSequence = oldest.next();
+            oldest.remove();
+        }
+        invalidationSequence++;
+        entries.keySet().stream()
+                .filter(key -> key.date().equals(mergeKey.date()) && (mergeKey.processUuid() == null || mergeKey.processUuid().equals(key.processUuid())))
+                .toList()
+                .forEach(this::remove);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Replaces the missing or invalid IGMs of the merges whose gate closure is reached, for the processes having a gate
+ * closure offset. Each merge is closed once, by a single instance, its replacement being run as a replace IGMs job
+ * created along with the closure : the replacements of the merges closed together are run in parallel, and then merged.
+ * The merges whose gate closure is missed for more than the max delay, when the server was down for instance, are
+ * left to the operators.
+ */
+@Service
+public class GateClosureService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GateClosureService.class);
+
+    private final MergeOrchestratorConfigService mergeConfigService;
+
+    private final MergeRepository mergeRepository;
+
+    private final ReplaceIgmsJobService replaceIgmsJobService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration maxDelay;
+
+    public GateClosureService(MergeOrchestratorConfigService mergeConfigService,
+                              MergeRepository mergeRepository,
+                              ReplaceIgmsJobService replaceIgmsJobService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${merge-orchestrator.gate-closure.max-delay-minutes:60}") long maxDelayMinutes) {
+        this.mergeConfigService = mergeConfigService;
+        this.mergeRepository = mergeRepository;
+        this.replaceIgmsJobService = replaceIgmsJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxDelay = Duration.ofMinutes(maxDelayMinutes);
+    }
+
+    @Scheduled(fixedDelayString = "${merge-orchestrator.gate-closure.poll-interval-ms:30000}")
+    public void closeGates() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (ProcessConfig config : mergeConfigService.getConfigs()) {
+            if (config.getGateClosureOffsetMinutes() == null) {
+                continue;
+            }
+            // merges whose gate closure, offset minutes before their date, is reached but not missed for too long
+            LocalDateTime maxDate = now.plusMinutes(config.getGateClosureOffsetMinutes());
+            for (LocalDateTime date : mergeRepository.findOpenGateDates(config.getProcessUuid(), maxDate.minus(maxDelay), maxDate)) {
+                // closed by the first instance only, its replacement job being created in the same transaction so
+                // that a closed gate always has a job, run once committed or recovered if this instance stops
+                try {
+                    Boolean closed = transactionTemplate.execute(status -> {
+                        if (mergeRepository.closeGate(config.getProcessUuid(), date) != 1) {
+                            return false;
+                        }
+                        replaceIgmsJobService.submit(config.getProcessUuid(), date.atZone(ZoneOffset.UTC));
+                        return true;
+                    });
+                    if (Boolean.TRUE.equals(closed)) {
+                        LOGGER.info("Merge {} of process {} {} : gate closed, replacing the missing or invalid IGMs", date,
+                                config.getProcess(), config.getBusinessProcess());
+                    }
+                } catch (Exception e) {
+                    // the gate stays open, closed again on the next run
+                    LOGGER.error("Merge {} of process {} {} : gate closure failed : ", date,
+                            config.getProcess(), config.getBusinessProcess(), e);
+                }
+            }
+        }
+    }
+}
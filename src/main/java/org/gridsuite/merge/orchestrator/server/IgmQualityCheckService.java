@@ -10,6 +10,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.PowsyblException;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.CircuitBreakers;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.ResilientCalls;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -20,6 +26,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com
@@ -31,29 +38,46 @@ public class IgmQualityCheckService {
 
     private static final String VALIDATION_OK = "validationOk";
 
+    private static final String BULKHEAD = "case-validation-server";
+
     private RestTemplate caseValidationServerRest;
 
+    private Bulkhead bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    private RetryPolicy retryPolicy;
+
     @Autowired
     public IgmQualityCheckService(RestTemplateBuilder builder,
-            @Value("${gridsuite.services.case-validation-server.base-uri:http://case-validation-server/}") String caseValidationBaseUri) {
+            @Value("${gridsuite.services.case-validation-server.base-uri:http://case-validation-server/}") String caseValidationBaseUri,
+            Bulkheads bulkheads,
+            CircuitBreakers circuitBreakers,
+            RetryPolicy downstreamRetryPolicy) {
         this.caseValidationServerRest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(caseValidationBaseUri))
                 .build();
+        this.bulkhead = bulkheads.get(BULKHEAD);
+        this.circuitBreaker = circuitBreakers.get(BULKHEAD);
+        this.retryPolicy = downstreamRetryPolicy;
     }
 
     public IgmQualityCheckService(RestTemplate restTemplate) {
         this.caseValidationServerRest = restTemplate;
+        this.bulkhead = new Bulkhead(BULKHEAD);
+        this.circuitBreaker = new CircuitBreaker(BULKHEAD);
+        this.retryPolicy = RetryPolicy.NO_RETRY;
     }
 
     public boolean check(UUID networkUuid, UUID reportId) {
         boolean res = false;
         try {
             // FIXME when individual check is merged, pass reportId in url
-            ResponseEntity<String> response = caseValidationServerRest.exchange(
+            ResponseEntity<String> response = ResilientCalls.call(BULKHEAD, retryPolicy, bulkhead, circuitBreaker, () -> caseValidationServerRest.exchange(
                     CASE_VALIDATION_API_VERSION + "/networks/{networkUuid}/validate?overwerite=true",
                     HttpMethod.PUT,
                     null,
                     String.class,
-                    networkUuid.toString());
+                    networkUuid.toString()));
             JsonNode node = new ObjectMapper().readTree(response.getBody()).path(VALIDATION_OK);
             if (!node.isMissingNode()) {
                 res = node.asBoolean();
@@ -63,4 +87,8 @@ public class IgmQualityCheckService {
         }
         return res;
     }
+
+    public CompletableFuture<Boolean> checkAsync(UUID networkUuid, UUID reportId) {
+        return bulkhead.supplyAsync(() -> check(networkUuid, reportId));
+    }
 }
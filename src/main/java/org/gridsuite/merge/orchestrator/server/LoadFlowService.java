@@ -9,7 +9,13 @@ package org.gridsuite.merge.orchestrator.server;
 import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.loadflow.json.JsonLoadFlowParameters;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.CircuitBreakers;
 import org.gridsuite.merge.orchestrator.server.dto.MergeStatus;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.ResilientCalls;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +33,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com
@@ -37,6 +44,7 @@ public class LoadFlowService {
 
     private static final String LOAD_FLOW_API_VERSION = "v1";
     private static final String DELIMITER = "/";
+    private static final String BULKHEAD = "loadflow-server";
 
     private enum Step {
         FIRST("First"),
@@ -57,15 +65,30 @@ public class LoadFlowService {
 
     private RestTemplate loadFlowServerRest;
 
+    private Bulkhead bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    private RetryPolicy retryPolicy;
+
     @Autowired
     public LoadFlowService(RestTemplateBuilder builder,
-            @Value("${gridsuite.services.loadflow-server.base-uri:http://loadflow-server/}") String loadFlowBaseUri) {
+            @Value("${gridsuite.services.loadflow-server.base-uri:http://loadflow-server/}") String loadFlowBaseUri,
+            Bulkheads bulkheads,
+            CircuitBreakers circuitBreakers,
+            RetryPolicy downstreamRetryPolicy) {
         this.loadFlowServerRest = builder.uriTemplateHandler(
                 new DefaultUriBuilderFactory(loadFlowBaseUri)).build();
+        this.bulkhead = bulkheads.get(BULKHEAD);
+        this.circuitBreaker = circuitBreakers.get(BULKHEAD);
+        this.retryPolicy = downstreamRetryPolicy;
     }
 
     public LoadFlowService(RestTemplate restTemplate) {
         this.loadFlowServerRest = restTemplate;
+        this.bulkhead = new Bulkhead(BULKHEAD);
+        this.circuitBreaker = new CircuitBreaker(BULKHEAD);
+        this.retryPolicy = RetryPolicy.NO_RETRY;
     }
 
     private boolean hasMainComponentConverged(LoadFlowResult result) {
@@ -82,11 +105,11 @@ public class LoadFlowService {
         JsonLoadFlowParameters.write(params, baos);
         HttpEntity<byte[]> requestEntity = new HttpEntity<>(baos.toByteArray(), headers);
 
-        LoadFlowResult result = loadFlowServerRest.exchange(uri,
+        LoadFlowResult result = ResilientCalls.call(BULKHEAD, retryPolicy, bulkhead, circuitBreaker, () -> loadFlowServerRest.exchange(uri,
                 HttpMethod.PUT,
                 requestEntity,
                 LoadFlowResult.class,
-                networksIds.get(0).toString()).getBody();
+                networksIds.get(0).toString()).getBody());
 
         boolean isLoadFlowOk = hasMainComponentConverged(result);
         if (!isLoadFlowOk) {
@@ -143,4 +166,8 @@ public class LoadFlowService {
         return stepRun(Step.THIRD, params, uri, networksIds) ? MergeStatus.THIRD_LOADFLOW_SUCCEED
                 : MergeStatus.LOADFLOW_FAILED;
     }
+
+    public CompletableFuture<MergeStatus> runAsync(List<UUID> networksIds, UUID report) {
+        return bulkhead.supplyAsync(() -> run(networksIds, report));
+    }
 }
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coalesces the computation triggers of a merge (process, date) : the computation runs once no trigger has been
+ * received during the coalescing window. A trigger received while the computation runs supersedes it : the
+ * computation is run again once the current run is over, and the current run is told to drop its result.
+ * With a zero window, the computation is run right away by the caller.
+ */
+@Service
+public class MergeComputationScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeComputationScheduler.class);
+
+    @FunctionalInterface
+    public interface MergeComputation {
+        void run(BooleanSupplier superseded);
+    }
+
+    private record MergeKey(UUID processUuid, LocalDateTime date) {
+    }
+
+    private static final class MergeState {
+        private long generation;
+        private MergeComputation computation;
+        // the pending run, identified by a token so that a run whose cancellation came too late can be ignored
+        private ScheduledFuture<?> pending;
+        private long pendingToken;
+        private long lastToken;
+        private boolean running;
+        private boolean rerun;
+    }
+
+    private final long windowMillis;
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<MergeKey, MergeState> states = new HashMap<>();
+
+    @Autowired
+    public MergeComputationScheduler(@Value("${merge-orchestrator.merge-coalescing-window-ms:2000}") long windowMillis,
+                                     @Value("${merge-orchestrator.merge-parallelism:4}") int mergeParallelism) {
+        this.windowMillis = windowMillis;
+        this.executor = Executors.newScheduledThreadPool(mergeParallelism, new CustomizableThreadFactory("merge-computation-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Triggers the computation of a merge, the last triggered computation of a merge being the one run.
+     * Within a transaction, the coalescing window starts once the transaction is committed.
+     */
+    public void trigger(UUID processUuid, LocalDateTime date, MergeComputation computation) {
+        if (windowMillis <= 0) {
+            computation.run(() -> false);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(new MergeKey(processUuid, date), computation);
+                }
+            });
+        } else {
+            schedule(new MergeKey(processUuid, date), computation);
+        }
+    }
+
+    private synchronized void schedule(MergeKey key, MergeComputation computation) {
+        MergeState state = states.computeIfAbsent(key, k -> new MergeState());
+        state.generation++;
+        state.computation = computation;
+        if (state.pending != null) {
+            state.pending.cancel(false);
+        }
+        schedulePending(key, state, windowMillis);
+    }
+
+    private void schedulePending(MergeKey key, MergeState state, long delayMillis) {
+        long token = ++state.lastToken;
+        state.pendingToken = token;
+        state.pending = executor.schedule(() -> run(key, token), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(MergeKey key, long token) {
+        MergeState state;
+        long generation;
+        MergeComputation computation;
+        synchronized (this) {
+            state = states.get(key);
+            if (state == null || state.pendingToken != token) {
+                // cancelled too late
+                return;
+            }
+            state.pending = null;
+            state.pendingToken = 0;
+            if (state.running) {
+                // run again once the current run is over
+                state.rerun = true;
+                return;
+            }
+            state.running = true;
+            generation = state.generation;
+            computation = state.computation;
+        }
+        try {
+            computation.run(() -> isSuperseded(state, generation));
+        } catch (Exception e) {
+            LOGGER.error("Merge computation error : ", e);
+        } finally {
+            synchronized (this) {
+                state.running = false;
+                if (state.rerun) {
+                    state.rerun = false;
+                    schedulePending(key, state, 0);
+                } else if (state.pending == null) {
+                    states.remove(key);
+                }
+            }
+        }
+    }
+
+    private synchronized boolean isSuperseded(MergeState state, long generation) {
+        return state.generation != generation;
+    }
+}
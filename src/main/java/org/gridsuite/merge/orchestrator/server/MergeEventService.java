@@ -6,6 +6,7 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
+import jakarta.persistence.EntityManager;
 import org.gridsuite.merge.orchestrator.server.dto.IgmStatus;
 import org.gridsuite.merge.orchestrator.server.dto.MergeStatus;
 import org.gridsuite.merge.orchestrator.server.repositories.IgmEntity;
@@ -16,12 +17,21 @@ import org.gridsuite.merge.orchestrator.server.repositories.MergeEntityKey;
 import org.gridsuite.merge.orchestrator.server.repositories.MergeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Jon Harper <jon.harper at rte-france.com>
@@ -30,6 +40,17 @@ import java.util.UUID;
 @Service
 public class MergeEventService {
 
+    /**
+     * IGM status change of a merge
+     */
+    public record IgmEvent(UUID processUuid, String businessProcess, ZonedDateTime date, String tso, IgmStatus status, UUID networkUuid, UUID caseUuid,
+                           ZonedDateTime replacingDate, String replacingBusinessProcess, String eqBoundary, String tpBoundary) {
+
+        public static IgmEvent of(UUID processUuid, String businessProcess, ZonedDateTime date, String tso, IgmStatus status) {
+            return new IgmEvent(processUuid, businessProcess, date, tso, status, null, null, null, null, null, null);
+        }
+    }
+
     private MergeRepository mergeRepository;
 
     private IgmRepository igmRepository;
@@ -37,35 +58,122 @@ public class MergeEventService {
     @Autowired
     private NotificationService notificationService;
 
-    public MergeEventService(MergeRepository mergeRepository, IgmRepository igmRepository) {
+    private ExportCacheService exportCacheService;
+
+    private EntityManager entityManager;
+
+    public MergeEventService(MergeRepository mergeRepository, IgmRepository igmRepository, ExportCacheService exportCacheService, EntityManager entityManager) {
         this.mergeRepository = mergeRepository;
         this.igmRepository = igmRepository;
+        this.exportCacheService = exportCacheService;
+        this.entityManager = entityManager;
     }
 
+    @Transactional
     public void addMergeIgmEvent(UUID processUuid, String businessProcess, ZonedDateTime date, String tso, IgmStatus status, UUID networkUuid, UUID caseUuid,
                                  ZonedDateTime replacingDate, String replacingBusinessProcess, String eqBoundary, String tpBoundary) {
+        addMergeIgmEvents(List.of(new IgmEvent(processUuid, businessProcess, date, tso, status, networkUuid, caseUuid,
+                replacingDate, replacingBusinessProcess, eqBoundary, tpBoundary)));
+    }
+
+    /**
+     * Records IGM status changes, the merges and IGMs concerned being read in two queries and written in JDBC batches.
+     * The notifications are written to the outbox in the same transaction, in the events order.
+     * Returns the networks of the IGMs replaced by these events.
+     */
+    @Transactional
+    public Set<UUID> addMergeIgmEvents(List<IgmEvent> events) {
+        if (events.isEmpty()) {
+            return Set.of();
+        }
         // Use of UTC Zone to store in database
-        LocalDateTime localDateTime = LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
-        LocalDateTime localReplacingDateTime = replacingDate != null ? LocalDateTime.ofInstant(replacingDate.toInstant(), ZoneOffset.UTC) : null;
+        Set<UUID> processUuids = new HashSet<>();
+        Set<LocalDateTime> dates = new HashSet<>();
+        Set<String> tsos = new HashSet<>();
+        for (IgmEvent event : events) {
+            processUuids.add(event.processUuid());
+            dates.add(LocalDateTime.ofInstant(event.date().toInstant(), ZoneOffset.UTC));
+            tsos.add(event.tso());
+        }
+        // may read a few more rows than needed when several processes and dates are concerned
+        Map<MergeEntityKey, MergeEntity> merges = mergeRepository.findByKeyProcessUuidInAndKeyDateIn(processUuids, dates).stream()
+                .collect(Collectors.toMap(MergeEntity::getKey, Function.identity()));
+        Map<IgmEntityKey, IgmEntity> igms = igmRepository.findByKeyProcessUuidInAndKeyDateInAndKeyTsoIn(processUuids, dates, tsos).stream()
+                .collect(Collectors.toMap(IgmEntity::getKey, Function.identity()));
 
-        var mergeEntity = getOrCreateMergeEntity(processUuid, date);
-        mergeEntity.setStatus(null);
-        mergeRepository.save(mergeEntity);
-        igmRepository.save(new IgmEntity(new IgmEntityKey(processUuid, localDateTime, tso), status.name(), networkUuid, caseUuid,
-                localReplacingDateTime, replacingBusinessProcess, eqBoundary, tpBoundary));
+        Set<UUID> replacedNetworkUuids = new HashSet<>();
+        Set<MergeEntityKey> changedMerges = new LinkedHashSet<>();
+        for (IgmEvent event : events) {
+            LocalDateTime localDateTime = LocalDateTime.ofInstant(event.date().toInstant(), ZoneOffset.UTC);
+            LocalDateTime localReplacingDateTime = event.replacingDate() != null ? LocalDateTime.ofInstant(event.replacingDate().toInstant(), ZoneOffset.UTC) : null;
 
-        notificationService.emitMergeIgmEvent(processUuid,
-                businessProcess,
-                date.format(DateTimeFormatter.ISO_DATE_TIME),
-                tso,
-                status.name());
+            // entities are persisted or updated at flush time : no select per entity
+            MergeEntity mergeEntity = merges.computeIfAbsent(new MergeEntityKey(event.processUuid(), localDateTime), key -> {
+                MergeEntity newMergeEntity = new MergeEntity(key, null);
+                entityManager.persist(newMergeEntity);
+                return newMergeEntity;
+            });
+            mergeEntity.setStatus(null);
+            changedMerges.add(mergeEntity.getKey());
+
+            IgmEntityKey igmKey = new IgmEntityKey(event.processUuid(), localDateTime, event.tso());
+            IgmEntity igmEntity = igms.get(igmKey);
+            if (igmEntity == null) {
+                igmEntity = new IgmEntity(igmKey, event.status().name(), event.networkUuid(), event.caseUuid(),
+                        localReplacingDateTime, event.replacingBusinessProcess(), event.eqBoundary(), event.tpBoundary());
+                entityManager.persist(igmEntity);
+                igms.put(igmKey, igmEntity);
+            } else {
+                if (igmEntity.getNetworkUuid() != null && !igmEntity.getNetworkUuid().equals(event.networkUuid())) {
+                    replacedNetworkUuids.add(igmEntity.getNetworkUuid());
+                }
+                igmEntity.setStatus(event.status().name());
+                igmEntity.setNetworkUuid(event.networkUuid());
+                igmEntity.setCaseUuid(event.caseUuid());
+                igmEntity.setReplacingDate(localReplacingDateTime);
+                igmEntity.setReplacingBusinessProcess(event.replacingBusinessProcess());
+                igmEntity.setEqBoundary(event.eqBoundary());
+                igmEntity.setTpBoundary(event.tpBoundary());
+                // any new status of the IGM cancels its pending import retry
+                igmEntity.setImportAttempts(0);
+                igmEntity.setNextImportRetry(null);
+            }
+
+            notificationService.emitMergeIgmEvent(event.processUuid(),
+                    event.businessProcess(),
+                    event.date().format(DateTimeFormatter.ISO_DATE_TIME),
+                    event.tso(),
+                    event.status().name());
+        }
+        changedMerges.forEach(key -> exportCacheService.invalidate(key.getProcessUuid(), key.getDate()));
+        return replacedNetworkUuids;
+    }
+
+    @Transactional
+    public void updateReplacingIgm(UUID processUuid, LocalDateTime date, String tso,
+                                   String status, UUID networkUuid, LocalDateTime replacingDate, String replacingBusinessProcess,
+                                   String replacingEqBoundary, String replacingTpBoundary) {
+        Optional<IgmEntity> igmEntity = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, tso);
+        igmEntity.ifPresent(e -> {
+            e.setStatus(status);
+            e.setNetworkUuid(networkUuid);
+            e.setReplacingDate(replacingDate);
+            e.setReplacingBusinessProcess(replacingBusinessProcess);
+            e.setEqBoundary(replacingEqBoundary);
+            e.setTpBoundary(replacingTpBoundary);
+
+            igmRepository.save(e);
+        });
     }
 
+    @Transactional
     public void addMergeEvent(UUID processUuid, String businessProcess, ZonedDateTime date, MergeStatus status) {
         // Use of UTC Zone to store in database
         var mergeEntity = getOrCreateMergeEntity(processUuid, date);
         mergeEntity.setStatus(status.name());
         mergeRepository.save(mergeEntity);
+        // the merged networks may be shared with the other processes of this date
+        exportCacheService.invalidate(mergeEntity.getKey().getDate());
         notificationService.emitMergeEvent(processUuid,
                 businessProcess,
                 date.format(DateTimeFormatter.ISO_DATE_TIME),
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.merge.orchestrator.server.dto.MergeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Pushes the merge and IGM status changes sent to the broker to the connected clients, as server-sent events.
+ * The last events are kept to be replayed to the reconnecting clients, from the last event id they received.
+ * A client not reading its live events fast enough is disconnected, and will get the missed events on reconnection.
+ * Each instance numbers the events it receives itself : the event ids are prefixed by an id of the instance, so
+ * that a client reconnecting to another instance, or after a restart, gets all the kept events again, possibly
+ * receiving some of them twice. Clients needing exact replays must be routed to a single instance.
+ */
+@Service
+public class MergeEventStreamService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeEventStreamService.class);
+
+    static final String EVENT_NAME = "merge";
+
+    private static final String ID_SEPARATOR = ":";
+
+    private static final String PROCESS_UUID_HEADER = "processUuid";
+    private static final String BUSINESS_PROCESS_HEADER = "businessProcess";
+    private static final String DATE_HEADER = "date";
+    private static final String STATUS_HEADER = "status";
+    private static final String TSO_HEADER = "tso";
+    private static final String ERROR_HEADER = "error";
+    private static final String JOB_UUID_HEADER = "jobUuid";
+
+    private record Event(long id, MergeNotification notification) {
+    }
+
+    private record Filter(UUID processUuid, ZonedDateTime minDate, ZonedDateTime maxDate) {
+        boolean accept(MergeNotification notification) {
+            if (!processUuid.equals(notification.getProcessUuid())) {
+                return false;
+            }
+            // process errors are not dated
+            ZonedDateTime date = notification.getDate();
+            return date == null || (minDate == null || !date.isBefore(minDate)) && (maxDate == null || !date.isAfter(maxDate));
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Filter filter;
+        // replayed events, sent before the live ones and not counted as pending
+        private final Deque<Event> replayedEvents = new ArrayDeque<>();
+        private final Deque<Event> pendingEvents = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        private synchronized void offer(Event event) {
+            if (closed || !filter.accept(event.notification())) {
+                return;
+            }
+            if (pendingEvents.size() >= maxPendingEvents) {
+                LOGGER.warn("Merge events subscriber of process {} too slow, disconnected", filter.processUuid());
+                close();
+                return;
+            }
+            pendingEvents.add(event);
+            startSending();
+        }
+
+        private synchronized void replay(Event event) {
+            if (!filter.accept(event.notification())) {
+                return;
+            }
+            replayedEvents.add(event);
+            startSending();
+        }
+
+        private void startSending() {
+            if (!sending) {
+                sending = true;
+                senderExecutor.execute(this::send);
+            }
+        }
+
+        private void send() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = closed ? null : !replayedEvents.isEmpty() ? replayedEvents.poll() : pendingEvents.poll();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(instanceId + ID_SEPARATOR + event.id())
+                            .name(EVENT_NAME)
+                            .data(event.notification(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // client gone
+                    synchronized (this) {
+                        closed = true;
+                        sending = false;
+                    }
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                replayedEvents.clear();
+                pendingEvents.clear();
+            }
+            // not under the subscriber lock, as the subscribers are offered events under the service lock
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+
+    private final long timeoutMillis;
+
+    private final int replaySize;
+
+    private final int maxPendingEvents;
+
+    private final ExecutorService senderExecutor;
+
+    private final Deque<Event> replayEvents = new ArrayDeque<>();
+
+    // prefix of the event ids, so that the ids of another instance, or of a previous run, are recognized
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private long lastEventId;
+
+    private final Set<Subscriber> subscribers = new LinkedHashSet<>();
+
+    public MergeEventStreamService(@Value("${merge-orchestrator.event-stream.timeout-ms:1800000}") long timeoutMillis,
+                                   @Value("${merge-orchestrator.event-stream.replay-size:1000}") int replaySize,
+                                   @Value("${merge-orchestrator.event-stream.max-pending-events:256}") int maxPendingEvents,
+                                   @Value("${merge-orchestrator.event-stream.sender-threads:4}") int senderThreads) {
+        this.timeoutMillis = timeoutMillis;
+        this.replaySize = replaySize;
+        this.maxPendingEvents = maxPendingEvents;
+        this.senderExecutor = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("merge-event-stream-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> connectedSubscribers;
+        synchronized (this) {
+            connectedSubscribers = new ArrayList<>(subscribers);
+        }
+        connectedSubscribers.forEach(Subscriber::close);
+        senderExecutor.shutdown();
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeMergeEvent() {
+        return message -> {
+            // replace IGMs jobs progress is not a merge status change
+            if (!message.getHeaders().containsKey(JOB_UUID_HEADER)) {
+                publish(toMergeNotification(message.getHeaders()));
+            }
+        };
+    }
+
+    private static MergeNotification toMergeNotification(MessageHeaders headers) {
+        Object processUuid = headers.get(PROCESS_UUID_HEADER);
+        String date = (String) headers.get(DATE_HEADER);
+        ZonedDateTime dateTime = null;
+        if (date != null) {
+            try {
+                dateTime = ZonedDateTime.parse(date);
+            } catch (DateTimeParseException e) {
+                LOGGER.warn("Merge event with invalid date {}", date);
+            }
+        }
+        return new MergeNotification(processUuid != null ? UUID.fromString(processUuid.toString()) : null,
+                (String) headers.get(BUSINESS_PROCESS_HEADER), dateTime, (String) headers.get(TSO_HEADER),
+                (String) headers.get(STATUS_HEADER), (String) headers.get(ERROR_HEADER));
+    }
+
+    public synchronized void publish(MergeNotification notification) {
+        if (notification.getProcessUuid() == null) {
+            return;
+        }
+        Event event = new Event(++lastEventId, notification);
+        replayEvents.add(event);
+        if (replayEvents.size() > replaySize) {
+            replayEvents.poll();
+        }
+        // offered under lock, so that the events are queued in order
+        new ArrayList<>(subscribers).forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**
+     * Subscribes to the merge events of a process within a dates interval (bounds being optional),
+     * replaying the events following the given last event id if any
+     */
+    public SseEmitter subscribe(UUID processUuid, ZonedDateTime minDate, ZonedDateTime maxDate, String lastReceivedEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new Filter(processUuid, minDate, maxDate));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> unsubscribe(subscriber));
+        synchronized (this) {
+            if (lastReceivedEventId != null) {
+                long replayAfter = getReplayAfter(lastReceivedEventId);
+                replayEvents.stream().filter(event -> event.id() > replayAfter).forEach(subscriber::replay);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Returns the id of this instance events to replay after, 0 to replay all the kept events
+     */
+    private long getReplayAfter(String lastReceivedEventId) {
+        String prefix = instanceId + ID_SEPARATOR;
+        if (!lastReceivedEventId.startsWith(prefix)) {
+            // event of another instance or of a previous run
+            return 0;
+        }
+        try {
+            long eventId = Long.parseLong(lastReceivedEventId.substring(prefix.length()));
+            return eventId <= lastEventId ? eventId : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+}
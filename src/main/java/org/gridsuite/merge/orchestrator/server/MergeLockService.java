@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import com.powsybl.commons.PowsyblException;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeEntityKey;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeLockEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Serializes the computations of a merge (process, date) across consumers and instances, using leases stored in
+ * the merge_lock table. A held lease is renewed while the computation runs, so that only a lease left by a crashed
+ * instance expires and is taken over. A computation whose lease could not be renewed in time is told so, to drop
+ * its results.
+ */
+@Service
+public class MergeLockService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeLockService.class);
+
+    private static final long POLL_MILLIS = 200;
+
+    private final MergeLockRepository mergeLockRepository;
+
+    // leases are taken and released in their own transactions, so that they are visible to the other instances right away
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration lease;
+
+    private final Duration maxWait;
+
+    // renews the held leases
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    private static final class HeldLease {
+        private final MergeEntityKey key;
+        private final UUID owner;
+        private volatile LocalDateTime expiration;
+        private volatile boolean lost;
+
+        private HeldLease(MergeEntityKey key, UUID owner, LocalDateTime expiration) {
+            this.key = key;
+            this.owner = owner;
+            this.expiration = expiration;
+        }
+
+        private boolean isLost() {
+            return lost || !LocalDateTime.now(ZoneOffset.UTC).isBefore(expiration);
+        }
+    }
+
+    public MergeLockService(MergeLockRepository mergeLockRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${merge-orchestrator.merge-lock.lease-seconds:900}") long leaseSeconds,
+                            @Value("${merge-orchestrator.merge-lock.max-wait-seconds:900}") long maxWaitSeconds) {
+        this.mergeLockRepository = mergeLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxWait = Duration.ofSeconds(maxWaitSeconds);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("merge-lock-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    public void runLocked(UUID processUuid, LocalDateTime date, Runnable runnable) {
+        runLocked(processUuid, date, leaseLost -> runnable.run());
+    }
+
+    /**
+     * Runs a computation holding the lease of a merge, the computation being given whether the lease has been lost
+     */
+    public void runLocked(UUID processUuid, LocalDateTime date, Consumer<BooleanSupplier> computation) {
+        MergeEntityKey key = new MergeEntityKey(processUuid, date);
+        HeldLease heldLease = acquire(key, UUID.randomUUID());
+        // renewed three times per lease, so that a renewal may fail without losing the lease
+        long heartbeatMillis = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleWithFixedDelay(() -> renew(heldLease), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            computation.accept(heldLease::isLost);
+        } finally {
+            heartbeat.cancel(false);
+            transactionTemplate.executeWithoutResult(status -> mergeLockRepository.release(processUuid, date, heldLease.owner));
+        }
+    }
+
+    private void renew(HeldLease heldLease) {
+        if (heldLease.lost) {
+            return;
+        }
+        LocalDateTime expiration = LocalDateTime.now(ZoneOffset.UTC).plus(lease);
+        try {
+            Integer renewed = transactionTemplate.execute(status -> mergeLockRepository.renew(heldLease.key.getProcessUuid(), heldLease.key.getDate(), heldLease.owner, expiration));
+            if (renewed != null && renewed == 1) {
+                heldLease.expiration = expiration;
+                return;
+            }
+            // taken over by another instance
+            heldLease.lost = true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Merge {} of process {} : lease renewal failed : {}", heldLease.key.getDate(), heldLease.key.getProcessUuid(), e.getMessage());
+            if (!heldLease.isLost()) {
+                return;
+            }
+        }
+        LOGGER.error("Merge {} of process {} : lease lost, the computation result will be dropped", heldLease.key.getDate(), heldLease.key.getProcessUuid());
+    }
+
+    private HeldLease acquire(MergeEntityKey key, UUID owner) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        HeldLease heldLease;
+        while ((heldLease = tryAcquire(key, owner)) == null) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new PowsyblException("Timeout waiting for the lock of merge " + key.getDate() + " of process " + key.getProcessUuid());
+            }
+            LOGGER.debug("Merge {} of process {} locked, waiting", key.getDate(), key.getProcessUuid());
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PowsyblException("Interrupted while waiting for the lock of merge " + key.getDate() + " of process " + key.getProcessUuid());
+            }
+        }
+        return heldLease;
+    }
+
+    private HeldLease tryAcquire(MergeEntityKey key, UUID owner) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime expiration = now.plus(lease);
+        try {
+            boolean acquired = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!mergeLockRepository.existsById(key)) {
+                    mergeLockRepository.saveAndFlush(new MergeLockEntity(key, owner, expiration));
+                    return true;
+                }
+                return mergeLockRepository.acquireExpired(key.getProcessUuid(), key.getDate(), owner, expiration, now) == 1;
+            }));
+            return acquired ? new HeldLease(key, owner, expiration) : null;
+        } catch (DataIntegrityViolationException e) {
+            // locked concurrently
+            return null;
+        }
+    }
+}
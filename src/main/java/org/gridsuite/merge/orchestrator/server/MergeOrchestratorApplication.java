@@ -13,6 +13,7 @@ import com.powsybl.network.store.client.NetworkStoreService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * @author Jon Harper <jon.harper at rte-france.com>
@@ -20,6 +21,7 @@ import org.springframework.context.annotation.Bean;
  */
 @SuppressWarnings("checkstyle:HideUtilityClassConstructor")
 @SpringBootApplication(scanBasePackageClasses = { MergeOrchestratorApplication.class, NetworkStoreService.class })
+@EnableScheduling
 public class MergeOrchestratorApplication {
     public static void main(String[] args) {
         SpringApplication.run(MergeOrchestratorApplication.class, args);
@@ -12,27 +12,40 @@ import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.ReportNodeDeserializer;
 import com.powsybl.commons.report.ReportNodeJsonModule;
 import com.powsybl.network.store.client.NetworkStoreService;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
 import org.gridsuite.merge.orchestrator.server.dto.BoundaryInfo;
 import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
 import org.gridsuite.merge.orchestrator.server.repositories.*;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.gridsuite.merge.orchestrator.server.MergeOrchestratorConstants.DELIMITER;
@@ -57,10 +70,25 @@ public class MergeOrchestratorConfigService {
 
     private final NetworkStoreService networkStoreService;
 
+    private final NotificationService notificationService;
+
+    private record RoutingKey(String tso, String format, String businessProcess) {
+    }
+
+    // matching process configs of the received IGMs, built from the database on first use after a config change
+    private volatile Map<RoutingKey, List<ProcessConfig>> routingIndex;
+
+    // incremented on each config change, so that an index built from outdated configs is not kept
+    private long routingIndexVersion;
+
     private String reportServerBaseURI;
 
     private RestTemplate reportRestClient;
 
+    private final RestTemplateBuilder restTemplateBuilder;
+
+    private final Bulkhead reportBulkhead;
+
     @Autowired
     public MergeOrchestratorConfigService(
             @Value("${gridsuite.services.report-server.base-uri:https://report-server}") String reportServerBaseURI,
@@ -68,12 +96,18 @@ public class MergeOrchestratorConfigService {
             BoundaryRepository boundaryRepository,
             IgmRepository igmRepository,
             MergeRepository mergeRepository,
-            NetworkStoreService networkStoreService) {
+            NetworkStoreService networkStoreService,
+            NotificationService notificationService,
+            RestTemplateBuilder restTemplateBuilder,
+            Bulkheads bulkheads) {
         this.processConfigRepository = processConfigRepository;
         this.boundaryRepository = boundaryRepository;
         this.mergeRepository = mergeRepository;
         this.igmRepository = igmRepository;
         this.networkStoreService = networkStoreService;
+        this.notificationService = notificationService;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.reportBulkhead = bulkheads.get("report-server");
         setReportServerBaseURI(reportServerBaseURI);
     }
 
@@ -83,7 +117,7 @@ public class MergeOrchestratorConfigService {
 
     void setReportServerBaseURI(String reportServerBaseURI) {
         this.reportServerBaseURI = reportServerBaseURI;
-        this.reportRestClient = new RestTemplateBuilder()
+        this.reportRestClient = restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(getReportServerURI()))
                 .messageConverters(getJackson2HttpMessageConverter())
                 .build();
@@ -105,20 +139,95 @@ public class MergeOrchestratorConfigService {
 
     @Transactional(readOnly = true)
     public List<ProcessConfig> getConfigs() {
-        return processConfigRepository.findAll().stream().map(entity -> {
-            @SuppressWarnings("unused")
-            int ignoreSize = entity.getTsos().size();
-            return entity;
-        }).map(this::toProcessConfig).collect(Collectors.toList());
+        return processConfigRepository.findAllWithTsosAndBoundaries().stream().map(this::toProcessConfig).collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Optional<ProcessConfig> getConfig(UUID processUuid) {
-        return processConfigRepository.findById(processUuid).map(entity -> {
-            @SuppressWarnings("unused")
-            int ignoreSize = entity.getTsos().size();
-            return entity;
-        }).map(this::toProcessConfig);
+        return processConfigRepository.findWithTsosAndBoundariesByProcessUuid(processUuid).map(this::toProcessConfig);
+    }
+
+    /**
+     * Returns the process configs matching a received IGM, without any database access once the index is built
+     */
+    public List<ProcessConfig> getMatchingConfigs(String tso, String format, String businessProcess) {
+        if (tso == null || tso.isEmpty() || businessProcess == null || businessProcess.isEmpty()) {
+            return List.of();
+        }
+        return getRoutingIndex().getOrDefault(new RoutingKey(tso, format, businessProcess), List.of());
+    }
+
+    private Map<RoutingKey, List<ProcessConfig>> getRoutingIndex() {
+        Map<RoutingKey, List<ProcessConfig>> index = routingIndex;
+        if (index != null) {
+            return index;
+        }
+        long version;
+        synchronized (this) {
+            version = routingIndexVersion;
+        }
+        Map<RoutingKey, List<ProcessConfig>> builtIndex = new HashMap<>();
+        // configs order kept, as the IGMs are imported in this order
+        for (ProcessConfig processConfig : getConfigs()) {
+            processConfig.getTsos().stream().distinct().forEach(tso -> builtIndex
+                    .computeIfAbsent(new RoutingKey(tso, ProcessConfig.ACCEPTED_FORMAT, processConfig.getBusinessProcess()), k -> new ArrayList<>())
+                    .add(processConfig));
+        }
+        index = builtIndex.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> List.copyOf(e.getValue())));
+        synchronized (this) {
+            if (version == routingIndexVersion) {
+                routingIndex = index;
+            }
+        }
+        return index;
+    }
+
+    synchronized void invalidateRoutingIndex() {
+        routingIndex = null;
+        routingIndexVersion++;
+    }
+
+    // config changes written without this service
+    @EventListener
+    public void onProcessConfigChanged(ProcessConfigChangedEvent event) {
+        notifyConfigChanged(event.processUuid());
+    }
+
+    // once committed, or right away when the change is done outside a transaction, each changed config being notified once
+    private void notifyConfigChanged(UUID processUuid) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateRoutingIndex();
+            // other instances routing index
+            notificationService.emitProcessConfigChanged(processUuid);
+            return;
+        }
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(ConfigChangesNotification.class::isInstance)
+                .map(ConfigChangesNotification.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    ConfigChangesNotification notification = new ConfigChangesNotification();
+                    TransactionSynchronizationManager.registerSynchronization(notification);
+                    return notification;
+                })
+                .processUuids.add(processUuid);
+    }
+
+    private final class ConfigChangesNotification implements TransactionSynchronization {
+
+        private final Set<UUID> processUuids = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            invalidateRoutingIndex();
+            // other instances routing index
+            processUuids.forEach(notificationService::emitProcessConfigChanged);
+        }
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeConfigUpdate() {
+        return message -> invalidateRoutingIndex();
     }
 
     @Transactional
@@ -134,6 +243,8 @@ public class MergeOrchestratorConfigService {
         // saving config
         var entity = toProcessConfigEntity(processConfig, boundaryEqEntity, boundaryTpEntity);
         processConfigRepository.save(entity);
+        // the entity listener missing the changes of the tsos only
+        notifyConfigChanged(entity.getProcessUuid());
     }
 
     public ReportNode getReport(UUID report) {
@@ -141,8 +252,8 @@ public class MergeOrchestratorConfigService {
         try {
             UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath("/{reportId}");
             String uri = uriBuilder.build().toUriString();
-            return reportRestClient.exchange(uri, HttpMethod.GET, null, ReportNode.class, report.toString())
-                    .getBody();
+            return reportBulkhead.call(() -> reportRestClient.exchange(uri, HttpMethod.GET, null, ReportNode.class, report.toString())
+                    .getBody());
         } catch (HttpClientErrorException e) {
             throw (e.getStatusCode() == HttpStatus.NOT_FOUND)
                     ? new MergeOrchestratorException(MERGE_REPORT_NOT_FOUND, e)
@@ -157,7 +268,7 @@ public class MergeOrchestratorConfigService {
         try {
             UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath("/{reportId}");
             String uri = uriBuilder.build().toUriString();
-            reportRestClient.exchange(uri, HttpMethod.DELETE, null, ReportNode.class, report.toString());
+            reportBulkhead.run(() -> reportRestClient.exchange(uri, HttpMethod.DELETE, null, ReportNode.class, report.toString()));
         } catch (HttpClientErrorException e) {
             throw (e.getStatusCode() == HttpStatus.NOT_FOUND)
                     ? new MergeOrchestratorException(MERGE_REPORT_NOT_FOUND, e)
@@ -169,11 +280,16 @@ public class MergeOrchestratorConfigService {
 
     @Transactional
     public void deleteConfig(UUID processUuid) {
-        igmRepository.findByKeyProcessUuid(processUuid).stream()
-                .filter(Objects::nonNull)
+        List<UUID> networkUuids = igmRepository.findByKeyProcessUuid(processUuid).stream()
                 .map(IgmEntity::getNetworkUuid)
-                .forEach(networkStoreService::deleteNetwork);
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
         igmRepository.deleteByKeyProcessUuid(processUuid);
+        // imported networks may be shared with IGMs of other processes : only delete the ones no longer referenced
+        networkUuids.stream()
+                .filter(networkUuid -> !igmRepository.existsByNetworkUuid(networkUuid))
+                .forEach(networkStoreService::deleteNetwork);
         mergeRepository.getReportsFor(processUuid).stream().filter(Objects::nonNull).forEach(this::deleteReport);
         mergeRepository.deleteByKeyProcessUuid(processUuid);
 
@@ -200,6 +316,7 @@ public class MergeOrchestratorConfigService {
                 boundaryRepository.deleteById(boundary);
             }
         });
+        notifyConfigChanged(processUuid);
     }
 
     private ProcessConfig toProcessConfig(ProcessConfigEntity processConfigEntity) {
@@ -208,7 +325,8 @@ public class MergeOrchestratorConfigService {
                 processConfigEntity.isRunBalancesAdjustment(),
                 processConfigEntity.isUseLastBoundarySet(),
                 toBoundaryInfo(processConfigEntity.getEqBoundary()),
-                toBoundaryInfo(processConfigEntity.getTpBoundary()));
+                toBoundaryInfo(processConfigEntity.getTpBoundary()),
+                processConfigEntity.getGateClosureOffsetMinutes());
     }
 
     private ProcessConfigEntity toProcessConfigEntity(ProcessConfig processConfig, BoundaryEntity boundaryEq,
@@ -220,7 +338,8 @@ public class MergeOrchestratorConfigService {
                 processConfig.isRunBalancesAdjustment(),
                 processConfig.isUseLastBoundarySet(),
                 boundaryEq,
-                boundaryTp);
+                boundaryTp,
+                processConfig.getGateClosureOffsetMinutes());
         if (!isNewProcessConfig) {
             entity.markNotNew();
         }
@@ -13,18 +13,23 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.gridsuite.merge.orchestrator.server.dto.FileInfos;
+import org.gridsuite.merge.orchestrator.server.dto.FileStreamInfos;
 import org.gridsuite.merge.orchestrator.server.dto.IgmReplacingInfo;
 import org.gridsuite.merge.orchestrator.server.dto.Merge;
+import org.gridsuite.merge.orchestrator.server.dto.MergePage;
+import org.gridsuite.merge.orchestrator.server.dto.ReplaceIgmsJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -50,8 +55,15 @@ public class MergeOrchestratorController {
 
     private final MergeOrchestratorService mergeOrchestratorService;
 
-    public MergeOrchestratorController(MergeOrchestratorService mergeOrchestratorService) {
+    private final MergeEventStreamService mergeEventStreamService;
+
+    private final ReplaceIgmsJobService replaceIgmsJobService;
+
+    public MergeOrchestratorController(MergeOrchestratorService mergeOrchestratorService, MergeEventStreamService mergeEventStreamService,
+                                       ReplaceIgmsJobService replaceIgmsJobService) {
         this.mergeOrchestratorService = mergeOrchestratorService;
+        this.mergeEventStreamService = mergeEventStreamService;
+        this.replaceIgmsJobService = replaceIgmsJobService;
     }
 
     @GetMapping(value = "{processUuid}/merges", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -73,19 +85,45 @@ public class MergeOrchestratorController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(merges);
     }
 
+    @GetMapping(value = "{processUuid}/merges/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a page of merges for a process, ordered by date")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The merges page, with the date to request the next page after")})
+    public ResponseEntity<MergePage<?>> getMergesPage(@Parameter(description = "Process uuid") @PathVariable("processUuid") UUID processUuid,
+                                                      @Parameter(description = "Merges dated after this date only, all merges if absent") @RequestParam(value = "after", required = false) String after,
+                                                      @Parameter(description = "Maximum number of merges in the page") @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                      @Parameter(description = "IGMs count by status instead of the IGMs") @RequestParam(value = "summary", defaultValue = "false") boolean summary) {
+        ZonedDateTime afterDateTime = after != null ? ZonedDateTime.parse(URLDecoder.decode(after, StandardCharsets.UTF_8)) : null;
+        MergePage<?> page = summary
+                ? mergeOrchestratorService.getMergeSummariesPage(processUuid, afterDateTime, limit)
+                : mergeOrchestratorService.getMergesPage(processUuid, afterDateTime, limit);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(page);
+    }
+
+    @GetMapping(value = "{processUuid}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the merges and IGMs status changes of a process")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The server-sent events stream of the status changes")})
+    public SseEmitter getMergeEvents(@Parameter(description = "Process uuid") @PathVariable("processUuid") UUID processUuid,
+                                     @Parameter(description = "Changes of the merges dated from this date only") @RequestParam(value = "minDate", required = false) String minDate,
+                                     @Parameter(description = "Changes of the merges dated until this date only") @RequestParam(value = "maxDate", required = false) String maxDate,
+                                     @Parameter(description = "Id of the last event received, to replay the following ones") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        ZonedDateTime minDateTime = minDate != null ? ZonedDateTime.parse(URLDecoder.decode(minDate, StandardCharsets.UTF_8)) : null;
+        ZonedDateTime maxDateTime = maxDate != null ? ZonedDateTime.parse(URLDecoder.decode(maxDate, StandardCharsets.UTF_8)) : null;
+        return mergeEventStreamService.subscribe(processUuid, minDateTime, maxDateTime, lastEventId);
+    }
+
     @GetMapping(value = "{processUuid}/{date}/export/{format}")
     @Operation(summary = "Export a merge from the network-store")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export merge for process")})
-    public ResponseEntity<byte[]> exportNetwork(@Parameter(description = "Process uuid") @PathVariable("processUuid") UUID processUuid,
-                                                @Parameter(description = "Process date") @PathVariable("date") String date,
-                                                @Parameter(description = "Export format") @PathVariable("format") String format) {
+    public ResponseEntity<StreamingResponseBody> exportNetwork(@Parameter(description = "Process uuid") @PathVariable("processUuid") UUID processUuid,
+                                                               @Parameter(description = "Process date") @PathVariable("date") String date,
+                                                               @Parameter(description = "Export format") @PathVariable("format") String format) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Exporting merge for process {} : {}", LogUtils.sanitizeParam(processUuid.toString()), LogUtils.sanitizeParam(date));
         }
         String decodedDate = URLDecoder.decode(date, StandardCharsets.UTF_8);
         ZonedDateTime dateTime = ZonedDateTime.parse(decodedDate);
 
-        FileInfos exportedMergeInfo = mergeOrchestratorService.exportMerge(processUuid, dateTime, format);
+        FileStreamInfos exportedMergeInfo = mergeOrchestratorService.exportMerge(processUuid, dateTime, format);
 
         HttpHeaders header = new HttpHeaders();
         header.setContentDisposition(ContentDisposition.builder("attachment").filename(exportedMergeInfo.getName(), StandardCharsets.UTF_8).build());
@@ -107,6 +145,31 @@ public class MergeOrchestratorController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(res);
     }
 
+    @PostMapping(value = "{processUuid}/{date}/replace-igms-jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Submit the replacement of missing or invalid igms, run in background")
+    @ApiResponses(value = {@ApiResponse(responseCode = "202", description = "IGMs replacement job submitted")})
+    public ResponseEntity<ReplaceIgmsJob> submitReplaceIGMsJob(@Parameter(description = "Process uuid") @PathVariable("processUuid") UUID processUuid,
+                                                               @Parameter(description = "Process date") @PathVariable("date") String date) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Submitting igms replacement for merge process {} : {}", LogUtils.sanitizeParam(processUuid.toString()), LogUtils.sanitizeParam(date));
+        }
+        String decodedDate = URLDecoder.decode(date, StandardCharsets.UTF_8);
+        ZonedDateTime dateTime = ZonedDateTime.parse(decodedDate);
+
+        ReplaceIgmsJob job = replaceIgmsJobService.submit(processUuid, dateTime);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).contentType(MediaType.APPLICATION_JSON).body(job);
+    }
+
+    @GetMapping(value = "replace-igms-jobs/{jobUuid}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get an igms replacement job")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The igms replacement job, with the replacing igms once succeeded"),
+        @ApiResponse(responseCode = "404", description = "The job not found")})
+    public ResponseEntity<ReplaceIgmsJob> getReplaceIGMsJob(@Parameter(description = "Job uuid") @PathVariable("jobUuid") UUID jobUuid) {
+        return replaceIgmsJobService.getJob(jobUuid)
+                .map(job -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping(value = "{processUuid}/{date}/report", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get merge report")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The report for process"), @ApiResponse(responseCode = "404", description = "The process not found")})
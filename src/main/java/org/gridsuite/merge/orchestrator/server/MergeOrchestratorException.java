@@ -20,7 +20,8 @@ public class MergeOrchestratorException extends RuntimeException {
         MERGE_NOT_FOUND(HttpStatus.NOT_FOUND),
         MERGE_REPORT_NOT_FOUND(HttpStatus.NOT_FOUND),
         MERGE_REPORT_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
-        MERGE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+        MERGE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
+        REPLACING_RULES_ERROR(HttpStatus.BAD_REQUEST);
 
         public final HttpStatus status;
         private final String message;
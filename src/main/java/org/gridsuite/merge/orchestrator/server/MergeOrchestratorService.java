@@ -9,33 +9,42 @@ package org.gridsuite.merge.orchestrator.server;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.network.store.client.NetworkStoreService;
-import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
-import groovy.lang.Script;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.merge.orchestrator.server.dto.*;
 import org.gridsuite.merge.orchestrator.server.repositories.IgmEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.IgmEntityKey;
 import org.gridsuite.merge.orchestrator.server.repositories.IgmRepository;
 import org.gridsuite.merge.orchestrator.server.repositories.MergeEntity;
 import org.gridsuite.merge.orchestrator.server.repositories.MergeRepository;
 import org.gridsuite.merge.orchestrator.server.utils.CgmesUtils;
+import org.gridsuite.merge.orchestrator.server.utils.DownstreamFailures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.InputStreamReader;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.gridsuite.merge.orchestrator.server.MergeOrchestratorException.Type.MERGE_NOT_FOUND;
@@ -61,19 +70,18 @@ public class MergeOrchestratorService {
     private static final String FORMAT_HEADER_KEY = "format";
     private static final String BUSINESS_PROCESS_HEADER_KEY = "businessProcess";
     private static final String UNDERSCORE = "_";
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    static final int MAX_MERGES_PAGE_SIZE = 1000;
     private static final String CGM = "CGM";
+    private static final String CGMES_FORMAT = "CGMES";
     private static final String PROCESS = "Process";
+    private static final int IMPORT_RETRY_BATCH_SIZE = 100;
 
-    private static final String GROOVY_TIMESTAMP_PARAMETER = "timestamp";
-    private static final String GROOVY_PROCESS_NAME_PARAMETER = "processName";
-    private static final String GROOVY_BUSINESS_PROCESS_PARAMETER = "businessProcess";
 
     private MergeRepository mergeRepository;
 
     private IgmRepository igmRepository;
 
-    private CaseFetcherService caseFetcherService;
-
     private BalancesAdjustmentService balancesAdjustmentService;
 
     private LoadFlowService loadFlowService;
@@ -92,10 +100,28 @@ public class MergeOrchestratorService {
 
     private NotificationService notificationService;
 
-    private Script replacingIGMScript;
+    private ExportCacheService exportCacheService;
+
+    private MergeComputationScheduler mergeComputationScheduler;
+
+    private MergeLockService mergeLockService;
+
+    private ReplacingRulesService replacingRulesService;
+
+    private ReplacementPreSearchService replacementPreSearchService;
+
+    // runs the import -> quality check -> merge pipeline of each process matching a received IGM
+    private final ExecutorService importExecutor;
+
+    private final int importRetryMaxAttempts;
+
+    private final Duration importRetryInitialDelay;
+
+    private final Duration importRetryMaxDelay;
+
+    private final Duration importRetryLease;
 
     public MergeOrchestratorService(NetworkStoreService networkStoreService,
-                                    CaseFetcherService caseFetchService,
                                     BalancesAdjustmentService balancesAdjustmentService,
                                     MergeEventService mergeEventService,
                                     LoadFlowService loadFlowService,
@@ -105,9 +131,18 @@ public class MergeOrchestratorService {
                                     NetworkConversionService networkConversionService,
                                     MergeOrchestratorConfigService mergeConfigService,
                                     CgmesBoundaryService cgmesBoundaryService,
-                                    NotificationService notificationService) {
+                                    NotificationService notificationService,
+                                    ExportCacheService exportCacheService,
+                                    MergeComputationScheduler mergeComputationScheduler,
+                                    MergeLockService mergeLockService,
+                                    ReplacingRulesService replacingRulesService,
+                                    ReplacementPreSearchService replacementPreSearchService,
+                                    @Value("${merge-orchestrator.import-parallelism:4}") int importParallelism,
+                                    @Value("${merge-orchestrator.import-retry.max-attempts:5}") int importRetryMaxAttempts,
+                                    @Value("${merge-orchestrator.import-retry.initial-delay-ms:60000}") long importRetryInitialDelayMillis,
+                                    @Value("${merge-orchestrator.import-retry.max-delay-ms:900000}") long importRetryMaxDelayMillis,
+                                    @Value("${merge-orchestrator.import-retry.lease-ms:900000}") long importRetryLeaseMillis) {
         this.networkStoreService = networkStoreService;
-        this.caseFetcherService = caseFetchService;
         this.balancesAdjustmentService = balancesAdjustmentService;
         this.mergeEventService = mergeEventService;
         this.loadFlowService = loadFlowService;
@@ -118,13 +153,21 @@ public class MergeOrchestratorService {
         this.networkConversionService = networkConversionService;
         this.cgmesBoundaryService = cgmesBoundaryService;
         this.notificationService = notificationService;
+        this.exportCacheService = exportCacheService;
+        this.mergeComputationScheduler = mergeComputationScheduler;
+        this.mergeLockService = mergeLockService;
+        this.replacingRulesService = replacingRulesService;
+        this.replacementPreSearchService = replacementPreSearchService;
+        this.importExecutor = Executors.newFixedThreadPool(importParallelism, new CustomizableThreadFactory("merge-import-"));
+        this.importRetryMaxAttempts = importRetryMaxAttempts;
+        this.importRetryInitialDelay = Duration.ofMillis(importRetryInitialDelayMillis);
+        this.importRetryMaxDelay = Duration.ofMillis(importRetryMaxDelayMillis);
+        this.importRetryLease = Duration.ofMillis(importRetryLeaseMillis);
+    }
 
-        GroovyShell shell = new GroovyShell();
-        try {
-            replacingIGMScript = shell.parse(new InputStreamReader(new ClassPathResource("replaceIGM.groovy").getInputStream()));
-        } catch (Exception exc) {
-            LOGGER.error(exc.getMessage());
-        }
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdown();
     }
 
     @Bean
@@ -149,49 +192,255 @@ public class MergeOrchestratorService {
             ZonedDateTime dateTime = ZonedDateTime.parse(Objects.requireNonNull(date));
 
             // Get all matching process configs
-            List<ProcessConfig> matchingProcessConfigList = mergeConfigService.getConfigs().stream()
-                    .filter(c -> c.isMatching(tso, format, businessProcess))
-                    .collect(Collectors.toList());
+            List<ProcessConfig> matchingProcessConfigList = mergeConfigService.getMatchingConfigs(tso, format, businessProcess);
+
+            // Send all availability messages, written at once for all the processes
+            matchingProcessConfigList.forEach(processConfig ->
+                LOGGER.info("Merge {} of process {} {} : IGM in format {} from TSO {} received", date, processConfig.getProcess(), processConfig.getBusinessProcess(), format, tso));
+            // if already received, the old networks will be deleted
+            Set<UUID> previousNetworkUuids = mergeEventService.addMergeIgmEvents(matchingProcessConfigList.stream()
+                    .map(processConfig -> MergeEventService.IgmEvent.of(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, tso, IgmStatus.AVAILABLE))
+                    .collect(Collectors.toList()));
+            previousNetworkUuids.forEach(this::deleteNetworkIfUnused);
+
+            // Processes using the same boundaries share the import and the quality check of the IGM
+            Map<List<String>, List<ProcessConfig>> processConfigsByBoundaries = new LinkedHashMap<>();
+            Map<List<String>, List<BoundaryContent>> boundariesByIds = new HashMap<>();
+            for (ProcessConfig processConfig : matchingProcessConfigList) {
+                List<BoundaryContent> configBoundaries = getProcessConfigBoundaries(processConfig);
+                if (configBoundaries.isEmpty()) {
+                    var errorMessage = PROCESS + " " + processConfig.getProcess() + " (" + processConfig.getBusinessProcess() + ") : EQ and/or TP boundary not available !!";
+                    notificationService.emitErrorEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), errorMessage);
+                    mergeEventService.addMergeIgmEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, tso, IgmStatus.VALIDATION_FAILED, null, null, null, null, null, null);
+                    // the boundary server may be unavailable for a while
+                    scheduleImportRetry(processConfig, dateTime, tso, caseUuid, 0, true);
+                } else {
+                    List<String> boundaryIds = Arrays.asList(getEqBoundary(configBoundaries), getTpBoundary(configBoundaries));
+                    boundariesByIds.putIfAbsent(boundaryIds, configBoundaries);
+                    processConfigsByBoundaries.computeIfAbsent(boundaryIds, k -> new ArrayList<>()).add(processConfig);
+                }
+            }
 
-            // Send all availability messages
-            matchingProcessConfigList.forEach(processConfig -> {
-                LOGGER.info("Merge {} of process {} {} : IGM in format {} from TSO {} received", date, processConfig.getProcess(), processConfig.getBusinessProcess(), format, tso);
+            // check the IGM once per boundary set, then merge it in each process concurrently, failures being isolated per process
+            List<CompletableFuture<Void>> merges = new ArrayList<>();
+            processConfigsByBoundaries.forEach((boundaryIds, processConfigs) -> {
+                List<BoundaryContent> boundaries = boundariesByIds.get(boundaryIds);
+                CompletableFuture<ImportedIgm> importedIgm = CompletableFuture.supplyAsync(() -> importIgm(caseUuid, boundaries), importExecutor);
+                // the other processes import their own network meanwhile, loadflow and balances adjustment writing their results into it
+                List<CompletableFuture<UUID>> ownImports = processConfigs.stream().skip(1)
+                        .map(processConfig -> CompletableFuture.supplyAsync(() -> networkConversionService.importCase(caseUuid, boundaries), importExecutor))
+                        .toList();
+                // the imports are queued before the merges waiting for them, so these merges cannot starve the executor
+                for (int i = 0; i < processConfigs.size(); i++) {
+                    ProcessConfig processConfig = processConfigs.get(i);
+                    CompletableFuture<UUID> ownImport = i == 0 ? null : ownImports.get(i - 1);
+                    merges.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            ImportedIgm igm = importedIgm.join();
+                            UUID networkUuid = getProcessNetwork(igm, ownImport);
+                            merge(processConfig, dateTime, date, tso, igm.valid(), networkUuid, caseUuid, null, null, boundaryIds.get(0), boundaryIds.get(1));
+                        } catch (Exception e) {
+                            if (ownImport != null) {
+                                ownImport.thenAccept(this::deleteNetworkIfUnused);
+                            }
+                            mergeEventService.addMergeIgmEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, tso, IgmStatus.VALIDATION_FAILED, null, null, null, null, null, null);
+                            scheduleImportRetry(processConfig, dateTime, tso, caseUuid, 0, DownstreamFailures.isTransient(e));
+                        }
+                    }, importExecutor));
+                }
+            });
+            CompletableFuture.allOf(merges.toArray(CompletableFuture[]::new)).join();
+        } catch (Exception e) {
+            LOGGER.error("Merge error : ", e);
+        }
+    }
 
-                // if already received delete old network
-                Optional<IgmEntity> igmEntityOptional = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processConfig.getProcessUuid(), LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC), tso);
-                igmEntityOptional.map(IgmEntity::getNetworkUuid).filter(Objects::nonNull).ifPresent(networkStoreService::deleteNetwork);
+    private record ImportedIgm(UUID networkUuid, boolean valid) {
+    }
 
-                mergeEventService.addMergeIgmEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, tso, IgmStatus.AVAILABLE, null, null, null, null, null, null);
-            });
+    private ImportedIgm importIgm(UUID caseUuid, List<BoundaryContent> boundaries) {
+        LOGGER.info("Import case {} using boundaries ids EQ={}, TP={}", caseUuid, getEqBoundary(boundaries), getTpBoundary(boundaries));
 
-            for (ProcessConfig processConfig : matchingProcessConfigList) {
-                try {
-                    // import IGM into the network store
-                    List<BoundaryContent> configBoundaries = getProcessConfigBoundaries(processConfig);
-                    if (configBoundaries.isEmpty()) {
-                        var errorMessage = PROCESS + " " + processConfig.getProcess() + " (" + processConfig.getBusinessProcess() + ") : EQ and/or TP boundary not available !!";
-                        notificationService.emitErrorEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), errorMessage);
-                        throw new PowsyblException(errorMessage);
-                    }
+        // import IGM into the network store
+        var networkUuid = networkConversionService.importCase(caseUuid, boundaries);
 
-                    String eqBoundary = getEqBoundary(configBoundaries);
-                    String tpBoundary = getTpBoundary(configBoundaries);
+        // check IGM quality
+        // FIXME use merge id when check is 1 per merge
+        boolean valid = igmQualityCheckService.check(networkUuid, networkUuid);
 
-                    LOGGER.info("Import case {} using boundaries ids EQ={}, TP={}", caseUuid, eqBoundary, tpBoundary);
+        return new ImportedIgm(networkUuid, valid);
+    }
 
-                    var networkUuid = networkConversionService.importCase(caseUuid, configBoundaries);
+    /**
+     * Returns the network of a process among the ones sharing an IGM quality check : loadflow and balances adjustment
+     * write their results into the network, so each process computing on a valid IGM uses its own import. The own
+     * import of the first process is the checked one.
+     */
+    private UUID getProcessNetwork(ImportedIgm importedIgm, CompletableFuture<UUID> ownImport) {
+        if (ownImport == null) {
+            return importedIgm.networkUuid();
+        }
+        if (!importedIgm.valid()) {
+            // an invalid IGM is never computed : its checked network is shared
+            ownImport.thenAccept(networkUuid -> {
+                if (!networkUuid.equals(importedIgm.networkUuid())) {
+                    networkStoreService.deleteNetwork(networkUuid);
+                }
+            });
+            return importedIgm.networkUuid();
+        }
+        return ownImport.join();
+    }
 
-                    // check IGM quality
-                    // FIXME use merge id when check is 1 per merge
-                    boolean valid = igmQualityCheckService.check(networkUuid, networkUuid);
+    /**
+     * Returns the network of a retried process among the ones sharing an IGM import, imported again for each process
+     * computing on a valid IGM but the first one
+     */
+    private UUID getProcessNetwork(ImportedIgm importedIgm, boolean firstProcess, UUID caseUuid, List<BoundaryContent> boundaries) {
+        if (firstProcess || !importedIgm.valid()) {
+            // an invalid IGM is never computed
+            return importedIgm.networkUuid();
+        }
+        return networkConversionService.importCase(caseUuid, boundaries);
+    }
 
-                    merge(processConfig, dateTime, date, tso, valid, networkUuid, caseUuid, null, null, eqBoundary, tpBoundary);
-                } catch (Exception e) {
-                    mergeEventService.addMergeIgmEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, tso, IgmStatus.VALIDATION_FAILED, null, null, null, null, null, null);
+    /**
+     * Schedules a new import of an IGM whose import or quality check failed transiently, with a delay doubled at each attempt
+     */
+    private void scheduleImportRetry(ProcessConfig processConfig, ZonedDateTime dateTime, String tso, UUID caseUuid, int previousAttempts, boolean transientFailure) {
+        if (!transientFailure) {
+            return;
+        }
+        int attempts = previousAttempts + 1;
+        if (attempts >= importRetryMaxAttempts) {
+            LOGGER.error("Merge {} of process {} {} : import of IGM from TSO {} failed {} times, giving up", dateTime, processConfig.getProcess(), processConfig.getBusinessProcess(), tso, attempts);
+            notificationService.emitErrorEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(),
+                    "Merge " + dateTime + " : import of IGM from TSO " + tso + " failed " + attempts + " times");
+            return;
+        }
+        Duration delay = importRetryInitialDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(importRetryMaxDelay) > 0) {
+            delay = importRetryMaxDelay;
+        }
+        LOGGER.warn("Merge {} of process {} {} : import of IGM from TSO {} failed, retrying in {}", dateTime, processConfig.getProcess(), processConfig.getBusinessProcess(), tso, delay);
+        igmRepository.scheduleImportRetry(processConfig.getProcessUuid(), LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC), tso,
+                caseUuid, attempts, LocalDateTime.now(ZoneOffset.UTC).plus(delay));
+    }
+
+    /**
+     * Runs the due import retries, each one being claimed by a single instance
+     */
+    @Scheduled(fixedDelayString = "${merge-orchestrator.import-retry.poll-interval-ms:30000}")
+    public void retryFailedImports() {
+        // the lease is compared to the stored one : truncated to the database precision
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        Map<UUID, List<ImportRetry>> retriesByCase = new LinkedHashMap<>();
+        for (IgmEntity igm : igmRepository.findByNextImportRetryLessThanEqualOrderByNextImportRetry(now, Limit.of(IMPORT_RETRY_BATCH_SIZE))) {
+            IgmEntityKey key = igm.getKey();
+            // an instance stopped while retrying leaves the retry to be claimed again once the lease is over
+            LocalDateTime lease = now.plus(importRetryLease);
+            if (igmRepository.claimImportRetry(key.getProcessUuid(), key.getDate(), key.getTso(), igm.getNextImportRetry(), lease) == 1) {
+                retriesByCase.computeIfAbsent(igm.getCaseUuid(), caseUuid -> new ArrayList<>()).add(new ImportRetry(igm, lease));
+            }
+        }
+        retriesByCase.forEach((caseUuid, retries) -> importExecutor.execute(() -> retryImports(caseUuid, retries)));
+    }
+
+    private record ImportRetry(IgmEntity igm, LocalDateTime lease) {
+    }
+
+    /**
+     * Retries the imports of a case, the processes using the same boundaries sharing the import and the quality
+     * check of the IGM as when it was received
+     */
+    private void retryImports(UUID caseUuid, List<ImportRetry> retries) {
+        Map<List<String>, List<BoundaryContent>> boundariesByIds = new HashMap<>();
+        Map<List<String>, Map<ImportRetry, ProcessConfig>> retriesByBoundaries = new LinkedHashMap<>();
+        for (ImportRetry retry : retries) {
+            IgmEntityKey key = retry.igm().getKey();
+            Optional<ProcessConfig> processConfig = mergeConfigService.getConfig(key.getProcessUuid());
+            if (processConfig.isEmpty()) {
+                continue;
+            }
+            ProcessConfig config = processConfig.get();
+            ZonedDateTime dateTime = key.getDate().atZone(ZoneOffset.UTC);
+            String date = dateTime.format(DateTimeFormatter.ISO_DATE_TIME);
+            LOGGER.info("Merge {} of process {} {} : import of IGM from TSO {} retried (attempt {})", date, config.getProcess(), config.getBusinessProcess(), key.getTso(), retry.igm().getImportAttempts() + 1);
+            try {
+                List<BoundaryContent> boundaries = getProcessConfigBoundaries(config);
+                if (boundaries.isEmpty()) {
+                    // the boundary server may still be unavailable
+                    LOGGER.error("Merge {} of process {} {} : EQ and/or TP boundary not available for the retry of IGM from TSO {}", date, config.getProcess(), config.getBusinessProcess(), key.getTso());
+                    failRetry(config, dateTime, retry.igm(), true);
+                    continue;
                 }
+                List<String> boundaryIds = Arrays.asList(getEqBoundary(boundaries), getTpBoundary(boundaries));
+                boundariesByIds.putIfAbsent(boundaryIds, boundaries);
+                retriesByBoundaries.computeIfAbsent(boundaryIds, k -> new LinkedHashMap<>()).put(retry, config);
+            } catch (Exception e) {
+                LOGGER.error("Merge {} of process {} {} : retry of IGM from TSO {} failed : {}", date, config.getProcess(), config.getBusinessProcess(), key.getTso(), e.getMessage());
+                failRetry(config, dateTime, retry.igm(), DownstreamFailures.isTransient(e));
+            }
+        }
+
+        retriesByBoundaries.forEach((boundaryIds, configsByRetry) -> {
+            List<BoundaryContent> boundaries = boundariesByIds.get(boundaryIds);
+            ImportedIgm importedIgm;
+            try {
+                importedIgm = importIgm(caseUuid, boundaries);
+            } catch (Exception e) {
+                LOGGER.error("Retry of the import of case {} failed : {}", caseUuid, e.getMessage());
+                configsByRetry.forEach((retry, config) -> failRetry(config, retry.igm().getKey().getDate().atZone(ZoneOffset.UTC), retry.igm(), DownstreamFailures.isTransient(e)));
+                return;
+            }
+            boolean importedNetworkUsed = false;
+            for (Map.Entry<ImportRetry, ProcessConfig> retryConfig : configsByRetry.entrySet()) {
+                importedNetworkUsed |= mergeRetriedImport(retryConfig.getKey(), retryConfig.getValue(), importedIgm, !importedNetworkUsed, caseUuid, boundaries);
             }
+            if (!importedNetworkUsed) {
+                deleteNetworkIfUnused(importedIgm.networkUuid());
+            }
+        });
+    }
+
+    /**
+     * Merges a retried IGM in its process, unless a new IGM was received meanwhile. Returns whether the imported
+     * network was taken by this process.
+     */
+    private boolean mergeRetriedImport(ImportRetry retry, ProcessConfig config, ImportedIgm importedIgm, boolean firstProcess,
+                                       UUID caseUuid, List<BoundaryContent> boundaries) {
+        IgmEntityKey key = retry.igm().getKey();
+        ZonedDateTime dateTime = key.getDate().atZone(ZoneOffset.UTC);
+        String date = dateTime.format(DateTimeFormatter.ISO_DATE_TIME);
+        // a new IGM received meanwhile cancels the retry
+        boolean cancelled = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(key.getProcessUuid(), key.getDate(), key.getTso())
+                .map(current -> !retry.lease().equals(current.getNextImportRetry()))
+                .orElse(true);
+        if (cancelled) {
+            LOGGER.info("Merge {} of process {} {} : IGM from TSO {} received during the retry, result dropped", date, config.getProcess(), config.getBusinessProcess(), key.getTso());
+            return false;
+        }
+        try {
+            UUID networkUuid = getProcessNetwork(importedIgm, firstProcess, caseUuid, boundaries);
+            merge(config, dateTime, date, key.getTso(), importedIgm.valid(), networkUuid, caseUuid, null, null,
+                    getEqBoundary(boundaries), getTpBoundary(boundaries));
         } catch (Exception e) {
-            LOGGER.error("Merge error : ", e);
+            LOGGER.error("Merge {} of process {} {} : retry of IGM from TSO {} failed : {}", date, config.getProcess(), config.getBusinessProcess(), key.getTso(), e.getMessage());
+            failRetry(config, dateTime, retry.igm(), DownstreamFailures.isTransient(e));
+        }
+        return firstProcess || !importedIgm.valid();
+    }
+
+    private void failRetry(ProcessConfig config, ZonedDateTime dateTime, IgmEntity igm, boolean transientFailure) {
+        String tso = igm.getKey().getTso();
+        mergeEventService.addMergeIgmEvent(config.getProcessUuid(), config.getBusinessProcess(), dateTime, tso, IgmStatus.VALIDATION_FAILED, null, null, null, null, null, null);
+        scheduleImportRetry(config, dateTime, tso, igm.getCaseUuid(), igm.getImportAttempts(), transientFailure);
+    }
+
+    private void deleteNetworkIfUnused(UUID networkUuid) {
+        // the network of an invalid IGM may be shared by the IGMs of several processes
+        if (!igmRepository.existsByNetworkUuid(networkUuid)) {
+            networkStoreService.deleteNetwork(networkUuid);
         }
     }
 
@@ -226,6 +475,30 @@ public class MergeOrchestratorService {
                 valid ? IgmStatus.VALIDATION_SUCCEED : IgmStatus.VALIDATION_FAILED, networkUuid, caseUuid,
                 replacingDate, replacingBusinessProcess, eqBoundary, tpBoundary);
 
+        triggerMerge(processConfig, dateTime, date);
+    }
+
+    private void triggerMerge(ProcessConfig processConfig, ZonedDateTime dateTime, String date) {
+        // IGMs received or replaced close together trigger a single merge computation
+        mergeComputationScheduler.trigger(processConfig.getProcessUuid(), LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC),
+            superseded -> computeMerge(processConfig, dateTime, date, superseded));
+    }
+
+    private void computeMerge(ProcessConfig processConfig, ZonedDateTime dateTime, String date, BooleanSupplier superseded) {
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        // the completion check and the computation are serialized across consumers and instances
+        mergeLockService.runLocked(processConfig.getProcessUuid(), localDateTime, leaseLost -> {
+            // merge status is reset by each IGM event : if set, the merge has been computed meanwhile with the last IGMs
+            if (mergeRepository.findByKeyProcessUuidAndKeyDate(processConfig.getProcessUuid(), localDateTime).map(MergeEntity::getStatus).isPresent()) {
+                LOGGER.info("Merge {} of process {} {} : already computed", date, processConfig.getProcess(), processConfig.getBusinessProcess());
+                return;
+            }
+            // a lost lease may be taken over by another computation of the merge
+            doComputeMerge(processConfig, dateTime, date, () -> superseded.getAsBoolean() || leaseLost.getAsBoolean());
+        });
+    }
+
+    private void doComputeMerge(ProcessConfig processConfig, ZonedDateTime dateTime, String date, BooleanSupplier superseded) {
         // get list of network UUID for validated IGMs
         List<IgmEntity> igmEntities = findValidatedIgms(dateTime, processConfig.getProcessUuid());
         List<UUID> networkUuids = igmEntities.stream().map(IgmEntity::getNetworkUuid).collect(Collectors.toList());
@@ -240,6 +513,10 @@ public class MergeOrchestratorService {
                 balancesAdjustmentService.doBalance(networkUuids);
 
                 LOGGER.info("Merge {} of process {} {} : balance adjustment complete", date, processConfig.getProcess(), processConfig.getBusinessProcess());
+                if (superseded.getAsBoolean()) {
+                    LOGGER.info("Merge {} of process {} {} : IGMs changed during balance adjustment, result dropped", date, processConfig.getProcess(), processConfig.getBusinessProcess());
+                    return;
+                }
 
                 // TODO check balance adjustment status
                 mergeEventService.addMergeEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, MergeStatus.BALANCE_ADJUSTMENT_SUCCEED);
@@ -249,6 +526,10 @@ public class MergeOrchestratorService {
                 MergeStatus status = loadFlowService.run(networkUuids, mergeEntity.getReportUUID());
 
                 LOGGER.info("Merge {} of process {} {} : loadflow complete with status {}", date, processConfig.getProcess(), processConfig.getBusinessProcess(), status);
+                if (superseded.getAsBoolean()) {
+                    LOGGER.info("Merge {} of process {} {} : IGMs changed during loadflow, result dropped", date, processConfig.getProcess(), processConfig.getBusinessProcess());
+                    return;
+                }
 
                 mergeEventService.addMergeEvent(processConfig.getProcessUuid(), processConfig.getBusinessProcess(), dateTime, status);
             }
@@ -272,31 +553,78 @@ public class MergeOrchestratorService {
     }
 
     List<Merge> getMerges(UUID processUuid) {
-        Map<ZonedDateTime, Merge> mergesByDate = new HashMap<>();
-        List<MergeRepository.MergeIgm> mergeIgms = mergeRepository.findMergeWithIgmsByProcessUuid(processUuid);
-        for (MergeRepository.MergeIgm mergeIgm : mergeIgms) {
-            var date = ZonedDateTime.ofInstant(mergeIgm.getDate().toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            mergesByDate.computeIfAbsent(date, k -> toMerge(mergeIgm));
-            mergesByDate.get(date).getIgms().add(toIgm(mergeIgm));
-        }
-        return new ArrayList<>(mergesByDate.values());
+        return toMerges(mergeRepository.findMergeWithIgmsByProcessUuid(processUuid));
     }
 
     List<Merge> getMerges(UUID processUuid, ZonedDateTime minDateTime, ZonedDateTime maxDateTime) {
         LocalDateTime minLocalDateTime = LocalDateTime.ofInstant(minDateTime.toInstant(), ZoneOffset.UTC);
         LocalDateTime maxLocalDateTime = LocalDateTime.ofInstant(maxDateTime.toInstant(), ZoneOffset.UTC);
+        return toMerges(mergeRepository.findMergeWithIgmsByProcessUuidAndInterval(processUuid, minLocalDateTime, maxLocalDateTime));
+    }
 
-        Map<ZonedDateTime, Merge> mergesByDate = new HashMap<>();
-        List<MergeRepository.MergeIgm> mergeIgms = mergeRepository.findMergeWithIgmsByProcessUuidAndInterval(processUuid, minLocalDateTime, maxLocalDateTime);
+    private static List<Merge> toMerges(List<MergeRepository.MergeIgm> mergeIgms) {
+        // ordered by date, the IGMs of a merge keeping the rows order
+        Map<LocalDateTime, Merge> mergesByDate = new TreeMap<>();
         for (MergeRepository.MergeIgm mergeIgm : mergeIgms) {
-            var date = ZonedDateTime.ofInstant(mergeIgm.getDate().toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            mergesByDate.computeIfAbsent(date, k -> toMerge(mergeIgm));
-            mergesByDate.get(date).getIgms().add(toIgm(mergeIgm));
+            mergesByDate.computeIfAbsent(mergeIgm.getDate(), date -> toMerge(mergeIgm)).getIgms().add(toIgm(mergeIgm));
         }
         return new ArrayList<>(mergesByDate.values());
     }
 
-    FileInfos exportMerge(UUID processUuid, ZonedDateTime processDate, String format) {
+    private List<MergeEntity> getMergeEntitiesPage(UUID processUuid, ZonedDateTime after, int pageSize) {
+        // one more merge fetched to know whether there is a next page
+        Limit pageLimit = Limit.of(pageSize + 1);
+        return after == null
+                ? mergeRepository.findByKeyProcessUuidOrderByKeyDate(processUuid, pageLimit)
+                : mergeRepository.findByKeyProcessUuidAndKeyDateAfterOrderByKeyDate(processUuid, LocalDateTime.ofInstant(after.toInstant(), ZoneOffset.UTC), pageLimit);
+    }
+
+    private static LocalDateTime getLastDate(List<MergeEntity> mergeEntities, int pageSize) {
+        return mergeEntities.get(Math.min(pageSize, mergeEntities.size()) - 1).getKey().getDate();
+    }
+
+    private static <T> MergePage<T> toMergePage(List<MergeEntity> mergeEntities, int pageSize, Function<MergeEntity, T> mapper) {
+        List<MergeEntity> pageEntities = mergeEntities.subList(0, Math.min(pageSize, mergeEntities.size()));
+        ZonedDateTime nextAfter = mergeEntities.size() > pageSize ? toUtcDateTime(getLastDate(mergeEntities, pageSize)) : null;
+        return new MergePage<>(pageEntities.stream().map(mapper).collect(Collectors.toList()), nextAfter);
+    }
+
+    /**
+     * Returns the merges of a process dated after the given date (all merges if null), ordered by date, with their IGMs
+     */
+    MergePage<Merge> getMergesPage(UUID processUuid, ZonedDateTime after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_MERGES_PAGE_SIZE));
+        List<MergeEntity> mergeEntities = getMergeEntitiesPage(processUuid, after, pageSize);
+        if (mergeEntities.isEmpty()) {
+            return new MergePage<>(List.of(), null);
+        }
+        Map<LocalDateTime, List<Igm>> igmsByDate = new HashMap<>();
+        igmRepository.findByKeyProcessUuidAndKeyDateBetweenOrderByKeyDateAscKeyTsoAsc(processUuid,
+                        mergeEntities.get(0).getKey().getDate(), getLastDate(mergeEntities, pageSize))
+                .forEach(igm -> igmsByDate.computeIfAbsent(igm.getKey().getDate(), date -> new ArrayList<>()).add(toIgm(igm)));
+        return toMergePage(mergeEntities, pageSize, merge -> new Merge(processUuid, toUtcDateTime(merge.getKey().getDate()), toMergeStatus(merge.getStatus()),
+                igmsByDate.getOrDefault(merge.getKey().getDate(), new ArrayList<>())));
+    }
+
+    /**
+     * Returns the merges of a process dated after the given date (all merges if null), ordered by date, with their IGMs count by status
+     */
+    MergePage<MergeSummary> getMergeSummariesPage(UUID processUuid, ZonedDateTime after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_MERGES_PAGE_SIZE));
+        List<MergeEntity> mergeEntities = getMergeEntitiesPage(processUuid, after, pageSize);
+        if (mergeEntities.isEmpty()) {
+            return new MergePage<>(List.of(), null);
+        }
+        Map<LocalDateTime, Map<IgmStatus, Long>> countsByDate = new HashMap<>();
+        igmRepository.countStatusesByProcessUuidAndInterval(processUuid,
+                        mergeEntities.get(0).getKey().getDate(), getLastDate(mergeEntities, pageSize))
+                .forEach(count -> countsByDate.computeIfAbsent(count.getDate(), date -> new EnumMap<>(IgmStatus.class))
+                        .put(IgmStatus.valueOf(count.getStatus()), count.getCount()));
+        return toMergePage(mergeEntities, pageSize, merge -> new MergeSummary(processUuid, toUtcDateTime(merge.getKey().getDate()), toMergeStatus(merge.getStatus()),
+                countsByDate.getOrDefault(merge.getKey().getDate(), Map.of())));
+    }
+
+    FileStreamInfos exportMerge(UUID processUuid, ZonedDateTime processDate, String format) {
         List<IgmEntity> igmEntities = findValidatedIgms(processDate, processUuid);
         List<UUID> networkUuids = igmEntities.stream().map(IgmEntity::getNetworkUuid).collect(Collectors.toList());
         List<UUID> caseUuid = igmEntities.stream().map(IgmEntity::getCaseUuid).collect(Collectors.toList());
@@ -307,7 +635,22 @@ public class MergeOrchestratorService {
         }
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmm'Z'");
         String baseFileName = processDate.toLocalDateTime().format(formatter) + UNDERSCORE + processConfig.getBusinessProcess() + UNDERSCORE + CGM + UNDERSCORE + processConfig.getProcess();
-        return networkConversionService.exportMerge(networkUuids, caseUuid, format, baseFileName, boundaries);
+        LocalDateTime date = LocalDateTime.ofInstant(processDate.toInstant(), ZoneOffset.UTC);
+        // the SV profile depends on the computation of the merge
+        MergeEntity mergeEntity = mergeRepository.findByKeyProcessUuidAndKeyDate(processUuid, date).orElse(null);
+        String fingerprint = ExportCacheService.fingerprint(baseFileName, mergeEntity, igmEntities, boundaries);
+        Optional<FileStreamInfos> cachedExport = exportCacheService.get(processUuid, date, format, fingerprint);
+        if (cachedExport.isPresent()) {
+            return cachedExport.get();
+        }
+        FileStreamInfos export;
+        if (format.equals(CGMES_FORMAT)) {
+            export = networkConversionService.exportCgmesMerge(networkUuids, caseUuid, baseFileName, boundaries);
+        } else {
+            FileInfos exportedMerge = networkConversionService.exportMerge(networkUuids, caseUuid, format, baseFileName, boundaries);
+            export = new FileStreamInfos(exportedMerge.getName(), outputStream -> outputStream.write(exportedMerge.getData()));
+        }
+        return exportCacheService.cache(processUuid, date, format, fingerprint, export);
     }
 
     ReportNode getReport(UUID processUuid, LocalDateTime processDate) {
@@ -320,15 +663,26 @@ public class MergeOrchestratorService {
         mergeConfigService.deleteReport(mergeEntity.getReportUUID());
     }
 
+    private static ZonedDateTime toUtcDateTime(LocalDateTime date) {
+        return date != null ? date.atZone(UTC) : null;
+    }
+
+    private static MergeStatus toMergeStatus(String status) {
+        return status != null ? MergeStatus.valueOf(status) : null;
+    }
+
     private static Igm toIgm(MergeRepository.MergeIgm mergeIgm) {
-        ZonedDateTime replacingDate = mergeIgm.getReplacingDate() != null ? ZonedDateTime.ofInstant(mergeIgm.getReplacingDate().toInstant(ZoneOffset.UTC), ZoneId.of("UTC")) : null;
         return new Igm(mergeIgm.getTso(), IgmStatus.valueOf(mergeIgm.getIgmStatus()),
-                replacingDate, mergeIgm.getReplacingBusinessProcess());
+                toUtcDateTime(mergeIgm.getReplacingDate()), mergeIgm.getReplacingBusinessProcess());
+    }
+
+    private static Igm toIgm(IgmEntity igm) {
+        return new Igm(igm.getKey().getTso(), IgmStatus.valueOf(igm.getStatus()),
+                toUtcDateTime(igm.getReplacingDate()), igm.getReplacingBusinessProcess());
     }
 
     private static Merge toMerge(MergeRepository.MergeIgm merge) {
-        var date = ZonedDateTime.ofInstant(merge.getDate().toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-        return new Merge(merge.getProcessUuid(), date, merge.getStatus() != null ? MergeStatus.valueOf(merge.getStatus()) : null, new ArrayList<>());
+        return new Merge(merge.getProcessUuid(), toUtcDateTime(merge.getDate()), toMergeStatus(merge.getStatus()), new ArrayList<>());
     }
 
     public Map<String, IgmReplacingInfo> replaceIGMs(UUID processUuid, ZonedDateTime processDate) {
@@ -353,26 +707,6 @@ public class MergeOrchestratorService {
         return null;
     }
 
-    public static List<ReplacingDate> execReplaceGroovyScript(Script replacingIGMScript, String date, String process, String businessProcess) {
-        List<ReplacingDate> res = new ArrayList<>();
-
-        Binding binding = new Binding();
-        binding.setVariable(GROOVY_TIMESTAMP_PARAMETER, date);
-        binding.setVariable(GROOVY_PROCESS_NAME_PARAMETER, process);
-        binding.setVariable(GROOVY_BUSINESS_PROCESS_PARAMETER, businessProcess);
-
-        replacingIGMScript.setBinding(binding);
-        Object resScript = replacingIGMScript.run();
-
-        for (Object elt : (List) resScript) {
-            String value = (String) elt;
-            String[] splitted = value.split("\\s+");
-            res.add(new ReplacingDate(splitted[0], splitted[1]));
-        }
-
-        return res;
-    }
-
     private Map<String, IgmReplacingInfo> findReplacingIGM(ProcessConfig config,
                                                            ZonedDateTime processDate,
                                                            List<String> missingOrInvalidTsos) {
@@ -383,8 +717,9 @@ public class MergeOrchestratorService {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
         String formattedDate = processDate.format(formatter);
 
-        // Execute groovy script to get the ordered proposed list of date, businessProcess for replacing the missing or invalid date, businessProcess
-        List<ReplacingDate> resScript = execReplaceGroovyScript(replacingIGMScript, formattedDate, config.getProcess(), config.getBusinessProcess());
+        // Run the replacement rules of the business process to get the ordered proposed list of date, businessProcess for replacing the missing or invalid date, businessProcess
+        List<ReplacingDate> resScript = replacingRulesService.getRules(config.getBusinessProcess())
+                .getReplacingDates(formattedDate, config.getProcess(), config.getBusinessProcess());
 
         List<BoundaryContent> configBoundaries = getProcessConfigBoundaries(config);
         if (configBoundaries.isEmpty()) {
@@ -393,70 +728,85 @@ public class MergeOrchestratorService {
             return replacingIGMs;
         }
 
-        // handle each missing or invalid igms
-        for (String tso : missingOrInvalidTsos) {
-            for (ReplacingDate elt : resScript) {
-                ZonedDateTime replacingDate = ZonedDateTime.parse(elt.getDate(), DateTimeFormatter.ISO_ZONED_DATE_TIME.withZone(ZoneId.of("UTC")));
+        // handle the missing or invalid igms candidate by candidate, the first candidate found for a tso being the best one
+        Set<String> remainingTsos = new LinkedHashSet<>(missingOrInvalidTsos);
+        for (ReplacingDate elt : resScript) {
+            if (remainingTsos.isEmpty()) {
+                break;
+            }
+            ZonedDateTime replacingDate = elt.getDateTime();
 
-                String replacingBusinessProcess = elt.getBusinessProcess();
+            String replacingBusinessProcess = elt.getBusinessProcess();
 
-                // search igm in the case server for the proposed replacing date, business process
-                List<CaseInfos> casesinfo = caseFetcherService.getCases(Arrays.asList(tso), replacingDate, ACCEPTED_FORMAT, replacingBusinessProcess);
-                if (!casesinfo.isEmpty()) {  // case found
-                    UUID caseUuid = casesinfo.get(0).getUuid();
+            // igms of all the remaining tsos for the proposed replacing date, business process, searched in advance or in the case server
+            Map<String, UUID> caseUuidsByTso = replacementPreSearchService.getCaseUuids(config, processDate, elt, remainingTsos);
 
+            // import the cases found in parallel, on the IGMs import threads
+            Map<String, CompletableFuture<UUID>> importedNetworks = new LinkedHashMap<>();
+            for (String tso : remainingTsos) {
+                UUID caseUuid = caseUuidsByTso.get(tso);
+                if (caseUuid != null) {  // case found
                     // no igm validation check is done here : it will be done later by the case validation server, as soon as a new case is
                     // imported in the case server
                     // so, we consider here that the replacing case is valid
                     LOGGER.info("Merge {} of process {} {} : IGM in format {} from TSO {} received", formattedDate,
                             config.getProcess(), config.getBusinessProcess(), ACCEPTED_FORMAT, tso);
 
-                    Optional<IgmEntity> previousEntity = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(config.getProcessUuid(), localDateTime, tso);
-                    UUID currentNetworkUuid = previousEntity.isPresent() ? previousEntity.get().getNetworkUuid() : null;
+                    // import case in the network store
+                    importedNetworks.put(tso, CompletableFuture.supplyAsync(() -> networkConversionService.importCase(caseUuid, configBoundaries), importExecutor));
+                }
+            }
 
-                    try {
-                        // import case in the network store
-                        String eqBoundary = getEqBoundary(configBoundaries);
-                        String tpBoundary = getTpBoundary(configBoundaries);
+            for (Map.Entry<String, CompletableFuture<UUID>> importedNetwork : importedNetworks.entrySet()) {
+                String tso = importedNetwork.getKey();
+                UUID caseUuid = caseUuidsByTso.get(tso);
+                try {
+                    var networkUuid = importedNetwork.getValue().join();
 
-                        var networkUuid = networkConversionService.importCase(caseUuid, configBoundaries);
+                    String eqBoundary = getEqBoundary(configBoundaries);
+                    String tpBoundary = getTpBoundary(configBoundaries);
+                    LOGGER.info("Import case {} using last boundaries ids EQ={}, TP={}", caseUuid, eqBoundary, tpBoundary);
 
-                        LOGGER.info("Import case {} using last boundaries ids EQ={}, TP={}", caseUuid, eqBoundary, tpBoundary);
+                    Optional<IgmEntity> previousEntity = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(config.getProcessUuid(), localDateTime, tso);
+                    UUID currentNetworkUuid = previousEntity.isPresent() ? previousEntity.get().getNetworkUuid() : null;
 
-                        mergeEventService.addMergeIgmEvent(config.getProcessUuid(), config.getBusinessProcess(), processDate, tso, IgmStatus.AVAILABLE,
-                            currentNetworkUuid, caseUuid, replacingDate, replacingBusinessProcess, eqBoundary, tpBoundary);
+                    mergeEventService.addMergeIgmEvent(config.getProcessUuid(), config.getBusinessProcess(), processDate, tso, IgmStatus.AVAILABLE,
+                        currentNetworkUuid, caseUuid, replacingDate, replacingBusinessProcess, eqBoundary, tpBoundary);
 
-                        // info for the replacing igm : replacing date, replacing business process, status, networkUuid,
-                        replacingIGMs.put(tso, new IgmReplacingInfo(tso, replacingDate, IgmStatus.VALIDATION_SUCCEED,
-                            caseUuid, networkUuid, replacingBusinessProcess, currentNetworkUuid, eqBoundary, tpBoundary));
+                    // info for the replacing igm : replacing date, replacing business process, status, networkUuid,
+                    replacingIGMs.put(tso, new IgmReplacingInfo(tso, replacingDate, IgmStatus.VALIDATION_SUCCEED,
+                        caseUuid, networkUuid, replacingBusinessProcess, currentNetworkUuid, eqBoundary, tpBoundary));
 
-                        // A good candidate has been found for replacement
-                        break;
-                    } catch (Exception e) {
-                        LOGGER.error(e.getMessage());
-                    }
+                    // A good candidate has been found for replacement
+                    remainingTsos.remove(tso);
+                } catch (CompletionException e) {
+                    LOGGER.error(e.getCause().getMessage());
                 }
             }
         }
 
-        // retriggering the merge computation
+        if (replacingIGMs.isEmpty()) {
+            return replacingIGMs;
+        }
+
+        LocalDateTime processDt = LocalDateTime.ofInstant(processDate.toInstant(), ZoneOffset.UTC);
+        List<MergeEventService.IgmEvent> replacedIgmEvents = new ArrayList<>();
         for (Map.Entry<String, IgmReplacingInfo> igm : replacingIGMs.entrySet()) {
             String tso = igm.getKey();
             IgmReplacingInfo igmReplace = igm.getValue();
 
             LocalDateTime ldt = LocalDateTime.ofInstant(igmReplace.getDate().toInstant(), ZoneOffset.UTC);
-            LocalDateTime processDt = LocalDateTime.ofInstant(processDate.toInstant(), ZoneOffset.UTC);
 
             // replace old status, old networkUuid for this igm at the initial date
             // with new status, networkUuid for this igm at the replacement date
             // and set also replacing date, replacing business process and replacing boundaries
-            updateReplacingIgm(config.getProcessUuid(), processDt, tso,
+            mergeEventService.updateReplacingIgm(config.getProcessUuid(), processDt, tso,
                     igmReplace.getStatus().name(), igmReplace.getNetworkUuid(), ldt,
                     igmReplace.getBusinessProcess(), igmReplace.getEqBoundary(), igmReplace.getTpBoundary());
 
             if (igmReplace.getOldNetworkUuid() != null) {
                 // delete previous invalid imported network from network store
-                networkStoreService.deleteNetwork(igmReplace.getOldNetworkUuid());
+                deleteNetworkIfUnused(igmReplace.getOldNetworkUuid());
             }
 
             String formattedReplacingDate = igmReplace.getDate().format(formatter);
@@ -464,28 +814,16 @@ public class MergeOrchestratorService {
             LOGGER.info("Merge {} of process {} {} : IGM from TSO {} replaced by date {}", formattedDate,
                     config.getProcess(), config.getBusinessProcess(), tso, formattedReplacingDate);
 
-            merge(config, processDate, formattedDate, tso, true, igmReplace.getNetworkUuid(), igmReplace.getCaseUuid(),
-                    igmReplace.getDate(), igmReplace.getBusinessProcess(), igmReplace.getEqBoundary(), igmReplace.getTpBoundary());
+            replacedIgmEvents.add(new MergeEventService.IgmEvent(config.getProcessUuid(), config.getBusinessProcess(), processDate, tso,
+                    IgmStatus.VALIDATION_SUCCEED, igmReplace.getNetworkUuid(), igmReplace.getCaseUuid(),
+                    igmReplace.getDate(), igmReplace.getBusinessProcess(), igmReplace.getEqBoundary(), igmReplace.getTpBoundary()));
         }
 
-        return replacingIGMs;
-    }
+        // retriggering the merge computation once all the replacements are recorded
+        mergeEventService.addMergeIgmEvents(replacedIgmEvents);
+        triggerMerge(config, processDate, formattedDate);
 
-    @Transactional
-    public void updateReplacingIgm(UUID processUuid, LocalDateTime date, String tso,
-                                   String status, UUID networkUuid, LocalDateTime replacingDate, String replacingBusinessProcess,
-                                   String replacingEqBoundary, String replacingTpBoundary) {
-        Optional<IgmEntity> igmEntity = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, tso);
-        igmEntity.ifPresent(e -> {
-            e.setStatus(status);
-            e.setNetworkUuid(networkUuid);
-            e.setReplacingDate(replacingDate);
-            e.setReplacingBusinessProcess(replacingBusinessProcess);
-            e.setEqBoundary(replacingEqBoundary);
-            e.setTpBoundary(replacingTpBoundary);
-
-            igmRepository.save(e);
-        });
+        return replacingIGMs;
     }
 
     private static String getEqBoundary(List<BoundaryContent> boundaries) {
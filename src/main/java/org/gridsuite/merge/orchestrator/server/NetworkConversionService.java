@@ -7,10 +7,19 @@
 package org.gridsuite.merge.orchestrator.server;
 
 import com.powsybl.commons.PowsyblException;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.Bulkheads;
+import org.gridsuite.merge.orchestrator.server.config.DownstreamClientConfiguration.CircuitBreakers;
 import org.gridsuite.merge.orchestrator.server.dto.BoundaryContent;
 import org.gridsuite.merge.orchestrator.server.dto.FileInfos;
+import org.gridsuite.merge.orchestrator.server.dto.FileStreamInfos;
 import org.gridsuite.merge.orchestrator.server.dto.NetworkInfos;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.ResilientCalls;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
 import org.gridsuite.merge.orchestrator.server.utils.CgmesUtils;
 import org.gridsuite.merge.orchestrator.server.utils.SecuredZipInputStream;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +31,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -29,7 +39,19 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -50,52 +72,84 @@ public class NetworkConversionService {
     private static final String XML_EXTENSION = ".xml";
     private static final String ZIP = ".zip";
 
+    private static final int DEFAULT_EXPORT_PARALLELISM = 4;
+
+    private static final long DEFAULT_EXPORT_DOWNLOAD_TIMEOUT_MS = 600000;
+
+    private static final String BULKHEAD = "network-conversion-server";
+
     private RestTemplate networkConversionServerRest;
 
     private CaseFetcherService caseFetcherService;
 
+    private Bulkhead bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    private RetryPolicy retryPolicy;
+
+    // downloads the IGMs of a CGMES merge export
+    private final ExecutorService exportExecutor;
+
+    private final Duration downloadTimeout;
+
     @Autowired
     public NetworkConversionService(CaseFetcherService caseFetcherService, RestTemplateBuilder builder,
-                                    @Value("${powsybl.services.network-conversion-server.base-uri:http://network-conversion-server/}") String networkConversionBaseUri) {
+                                    @Value("${powsybl.services.network-conversion-server.base-uri:http://network-conversion-server/}") String networkConversionBaseUri,
+                                    @Value("${merge-orchestrator.export-parallelism:" + DEFAULT_EXPORT_PARALLELISM + "}") int exportParallelism,
+                                    @Value("${merge-orchestrator.export-download-timeout-ms:" + DEFAULT_EXPORT_DOWNLOAD_TIMEOUT_MS + "}") long downloadTimeoutMillis,
+                                    Bulkheads bulkheads,
+                                    CircuitBreakers circuitBreakers,
+                                    RetryPolicy downstreamRetryPolicy) {
         this.caseFetcherService = caseFetcherService;
         this.networkConversionServerRest = builder.uriTemplateHandler(
                 new DefaultUriBuilderFactory(networkConversionBaseUri)
         ).build();
+        this.bulkhead = bulkheads.get(BULKHEAD);
+        this.circuitBreaker = circuitBreakers.get(BULKHEAD);
+        this.retryPolicy = downstreamRetryPolicy;
+        this.exportExecutor = createExportExecutor(exportParallelism);
+        this.downloadTimeout = Duration.ofMillis(downloadTimeoutMillis);
     }
 
     public NetworkConversionService(RestTemplate networkConversionServerRest, CaseFetcherService caseFetcherService) {
         this.networkConversionServerRest = networkConversionServerRest;
         this.caseFetcherService = caseFetcherService;
+        this.bulkhead = new Bulkhead(BULKHEAD);
+        this.circuitBreaker = new CircuitBreaker(BULKHEAD);
+        this.retryPolicy = RetryPolicy.NO_RETRY;
+        this.exportExecutor = createExportExecutor(DEFAULT_EXPORT_PARALLELISM);
+        this.downloadTimeout = Duration.ofMillis(DEFAULT_EXPORT_DOWNLOAD_TIMEOUT_MS);
+    }
+
+    private static ExecutorService createExportExecutor(int exportParallelism) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("merge-export-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(exportParallelism, threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdownNow();
     }
 
     public FileInfos exportMerge(List<UUID> networkUuids, List<UUID> caseUuids, String format, String baseFileName, List<BoundaryContent> boundaries) {
         if (format.equals(CGMES_FORMAT)) {
+            FileStreamInfos cgmesMerge = exportCgmesMerge(networkUuids, caseUuids, baseFileName, boundaries);
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            try (ZipOutputStream repackagedZip = new ZipOutputStream(baos)) {
-                //Add merged IGMs profiles
-                List<FileInfos> mergedIgms = caseFetcherService.getCases(caseUuids);
-                for (FileInfos mergedIgm : mergedIgms) {
-                    addFilteredCgmesFiles(repackagedZip, mergedIgm.getData());
-                }
-
-                //Add SV profile
-                CgmesUtils.addFilesToZip(repackagedZip, Collections.singletonList(getSvProfile(networkUuids, baseFileName)));
-
-                //Add boundary files
-                CgmesUtils.addFilesToZip(repackagedZip, CgmesBoundaryService.getFileInfosBoundaries(boundaries));
-
+            try {
+                cgmesMerge.getData().writeTo(baos);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
-            return new FileInfos(baseFileName.concat(UNDERSCORE + FILE_VERSION + ZIP), baos.toByteArray());
+            return new FileInfos(cgmesMerge.getName(), baos.toByteArray());
         } else {
             UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath(DELIMITER + NETWORK_CONVERSION_API_VERSION + "/networks/{networkUuid}/export/{format}");
             for (int i = 1; i < networkUuids.size(); ++i) {
                 uriBuilder = uriBuilder.queryParam("networkUuid", networkUuids.get(i).toString());
             }
             String uri = uriBuilder.build().toUriString();
-            ResponseEntity<byte[]> responseEntity = networkConversionServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<byte[]>() { }, networkUuids.get(0).toString(), format);
+            ResponseEntity<byte[]> responseEntity = bulkhead.call(() -> networkConversionServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<byte[]>() { }, networkUuids.get(0).toString(), format));
             String exportedFileExtension;
             try {
                 String exportedFileName = responseEntity.getHeaders().getContentDisposition().getFilename();
@@ -107,10 +161,137 @@ public class NetworkConversionService {
         }
     }
 
-    private void addFilteredCgmesFiles(ZipOutputStream repackagedZip, byte[] cgmesZip) {
+    /**
+     * The IGMs of the CGMES merge are downloaded concurrently to temporary files while the SV profile is exported,
+     * then repackaged in the given order while the merge is streamed, so that memory does not depend on the merge
+     * size. The SV profile is exported beforehand, so that an export failure is reported before anything is written.
+     */
+    public FileStreamInfos exportCgmesMerge(List<UUID> networkUuids, List<UUID> caseUuids, String baseFileName, List<BoundaryContent> boundaries) {
+        CaseDownloads caseDownloads = new CaseDownloads(caseUuids);
+        FileInfos svProfile;
+        try {
+            svProfile = getSvProfile(networkUuids, baseFileName);
+        } catch (RuntimeException e) {
+            caseDownloads.discard();
+            throw e;
+        }
+        return new FileStreamInfos(baseFileName.concat(UNDERSCORE + FILE_VERSION + ZIP), outputStream -> {
+            if (!caseDownloads.consume()) {
+                throw new IOException("Downloaded cases of " + baseFileName + " discarded after " + downloadTimeout);
+            }
+            ZipOutputStream repackagedZip = new ZipOutputStream(outputStream);
+            try {
+                //Add merged IGMs profiles
+                for (int i = 0; i < caseUuids.size(); i++) {
+                    Path caseFile = caseDownloads.get(i);
+                    try (InputStream caseContent = Files.newInputStream(caseFile)) {
+                        addFilteredCgmesFiles(repackagedZip, caseContent);
+                    } finally {
+                        Files.deleteIfExists(caseFile);
+                    }
+                }
+            } finally {
+                caseDownloads.discard();
+            }
+
+            //Add SV profile
+            CgmesUtils.addFilesToZip(repackagedZip, Collections.singletonList(svProfile));
+
+            //Add boundary files
+            CgmesUtils.addFilesToZip(repackagedZip, CgmesBoundaryService.getFileInfosBoundaries(boundaries));
+
+            // the output stream is owned by the caller
+            repackagedZip.finish();
+        });
+    }
+
+    /**
+     * Temporary files of the IGMs downloaded for a CGMES merge export. The created files are tracked, so that they
+     * are deleted once discarded whatever the state of their download : a download still running deletes its file
+     * when it completes. The downloads of a response body never written are discarded after downloadTimeout.
+     */
+    private final class CaseDownloads {
+        private final Set<Path> files = ConcurrentHashMap.newKeySet();
+        private final List<CompletableFuture<Path>> downloads;
+        // set by the first of the response body and the timeout
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile boolean discarded;
+
+        private CaseDownloads(List<UUID> caseUuids) {
+            downloads = caseUuids.stream().map(caseUuid -> {
+                CompletableFuture<Path> download = CompletableFuture.supplyAsync(() -> downloadCase(caseUuid), exportExecutor);
+                download.whenComplete((caseFile, e) -> {
+                    if (discarded) {
+                        deleteCaseFile(caseFile);
+                    }
+                });
+                return download;
+            }).collect(Collectors.toList());
+            CompletableFuture.delayedExecutor(downloadTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    discard();
+                }
+            });
+        }
+
+        /**
+         * Returns false if the downloads have already been discarded by the timeout
+         */
+        private boolean consume() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private Path downloadCase(UUID caseUuid) {
+            if (discarded) {
+                // queued download of a discarded export
+                throw new CancellationException();
+            }
+            try {
+                Path caseFile = Files.createTempFile("merge-export-" + caseUuid, ZIP);
+                files.add(caseFile);
+                caseFetcherService.getCase(caseUuid, content -> Files.copy(content, caseFile, StandardCopyOption.REPLACE_EXISTING));
+                return caseFile;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Path get(int index) throws IOException {
+            try {
+                return downloads.get(index).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while downloading cases");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                    throw uncheckedIOException.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new PowsyblException(e.getCause());
+            }
+        }
+
+        /**
+         * Deletes the downloaded files, the running downloads deleting theirs once completed
+         */
+        private void discard() {
+            discarded = true;
+            files.forEach(CaseDownloads::deleteCaseFile);
+        }
+
+        private static void deleteCaseFile(Path caseFile) {
+            if (caseFile != null) {
+                FileUtils.deleteQuietly(caseFile.toFile());
+            }
+        }
+    }
+
+    private void addFilteredCgmesFiles(ZipOutputStream repackagedZip, InputStream cgmesZip) throws IOException {
         boolean isEntryToAdd;
         String fileName;
-        try (SecuredZipInputStream zis = new SecuredZipInputStream(new ByteArrayInputStream(cgmesZip), CgmesUtils.MAX_ZIP_ENTRIES_COUNT, CgmesUtils.MAX_ZIP_SIZE)) {
+        try (SecuredZipInputStream zis = new SecuredZipInputStream(cgmesZip, CgmesUtils.MAX_ZIP_ENTRIES_COUNT, CgmesUtils.MAX_ZIP_SIZE)) {
             ZipEntry entry = zis.getNextEntry();
             while (entry != null) {
                 if (new File(entry.getName()).getCanonicalPath().contains("..")) {
@@ -130,15 +311,13 @@ public class NetworkConversionService {
                 }
                 entry = zis.getNextEntry();
             }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
         }
     }
 
     private FileInfos getSvProfile(List<UUID> networksIds, String baseFileName) {
-        String uri = DELIMITER + NETWORK_CONVERSION_API_VERSION + "/networks/{networkUuid}/export-sv-cgmes?";
-        uri += networksIds.stream().skip(1).map(s -> "networkUuid=" + s.toString()).collect(Collectors.joining("&"));
-        ResponseEntity<byte[]> responseEntity = networkConversionServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<byte[]>() { }, networksIds.get(0).toString(), CGMES_FORMAT);
+        String uri = DELIMITER + NETWORK_CONVERSION_API_VERSION + "/networks/{networkUuid}/export-sv-cgmes?"
+                + networksIds.stream().skip(1).map(s -> "networkUuid=" + s.toString()).collect(Collectors.joining("&"));
+        ResponseEntity<byte[]> responseEntity = bulkhead.call(() -> networkConversionServerRest.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<byte[]>() { }, networksIds.get(0).toString(), CGMES_FORMAT));
         return new FileInfos(baseFileName.concat(UNDERSCORE + SV_PROFILE + UNDERSCORE + FILE_VERSION + XML_EXTENSION), responseEntity.getBody());
     }
 
@@ -151,10 +330,10 @@ public class NetworkConversionService {
         HttpEntity<List<BoundaryContent>> requestEntity = new HttpEntity<>(boundaries, headers);
 
         try {
-            ResponseEntity<NetworkInfos> responseEntity = networkConversionServerRest.exchange(uri,
+            ResponseEntity<NetworkInfos> responseEntity = ResilientCalls.callNonIdempotent(BULKHEAD, retryPolicy, bulkhead, circuitBreaker, () -> networkConversionServerRest.exchange(uri,
                 HttpMethod.POST,
                 requestEntity,
-                NetworkInfos.class);
+                NetworkInfos.class));
             NetworkInfos infos = responseEntity.getBody();
             if (infos != null) {
                 return infos.getNetworkUuid();
@@ -162,7 +341,11 @@ public class NetworkConversionService {
                 throw new PowsyblException("Error importing case " + caseUuid + " with boundaries !!");
             }
         } catch (RestClientException e) {
-            throw new PowsyblException("Error importing case " + caseUuid + " with boundaries !!");
+            throw new PowsyblException("Error importing case " + caseUuid + " with boundaries !!", e);
         }
     }
+
+    public CompletableFuture<UUID> importCaseAsync(UUID caseUuid, List<BoundaryContent> boundaries) {
+        return bulkhead.supplyAsync(() -> importCase(caseUuid, boundaries));
+    }
 }
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import com.powsybl.commons.PowsyblException;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeNotificationEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the merge notifications of the outbox to the broker, in batches and in the order of their ids.
+ * The ids being allocated by blocks to each instance, this is only the order each instance wrote them in, and a
+ * notification committed late may be sent after later ones : the consumers must not rely on a global order.
+ * A batch is leased by a single instance, sent, then deleted once sent (and confirmed by the broker if publisher
+ * confirms are enabled), so that a notification not sent because of a broker failure is sent on the next relay,
+ * and one not sent because of an instance failure once its lease expired. A notification sent but not deleted
+ * because of an instance failure is sent again : the notifications are delivered at least once.
+ */
+@Service
+public class NotificationRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationRelay.class);
+
+    private static final String PUBLISH_MERGE_BINDING = "publishMerge-out-0";
+
+    private static final String PROCESS_UUID_HEADER = "processUuid";
+    private static final String BUSINESS_PROCESS_HEADER = "businessProcess";
+    private static final String DATE_HEADER = "date";
+    private static final String STATUS_HEADER = "status";
+    private static final String TSO_HEADER = "tso";
+    private static final String ERROR_HEADER = "error";
+    private static final String JOB_UUID_HEADER = "jobUuid";
+
+    private final MergeNotificationRepository mergeNotificationRepository;
+
+    private final StreamBridge streamBridge;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final boolean publisherConfirms;
+
+    private final long confirmTimeoutMillis;
+
+    private final Duration lease;
+
+    // a single relay at a time per instance, the instances being serialized by the outbox leases
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("merge-notification-relay-"));
+
+    private final AtomicBoolean relayPending = new AtomicBoolean();
+
+    public NotificationRelay(MergeNotificationRepository mergeNotificationRepository,
+                             StreamBridge streamBridge,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${merge-orchestrator.notification-outbox.batch-size:100}") int batchSize,
+                             @Value("${merge-orchestrator.notification-outbox.publisher-confirms:true}") boolean publisherConfirms,
+                             @Value("${merge-orchestrator.notification-outbox.confirm-timeout-ms:10000}") long confirmTimeoutMillis,
+                             @Value("${merge-orchestrator.notification-outbox.lease-ms:60000}") long leaseMillis) {
+        this.mergeNotificationRepository = mergeNotificationRepository;
+        this.streamBridge = streamBridge;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.publisherConfirms = publisherConfirms;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.lease = Duration.ofMillis(leaseMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    /**
+     * Relays the pending notifications in background, the wake ups received while relaying being coalesced
+     */
+    public void wakeUp() {
+        if (relayPending.compareAndSet(false, true)) {
+            relayExecutor.execute(this::relay);
+        }
+    }
+
+    // notifications left by a failed relay, or written by a stopped instance
+    @Scheduled(fixedDelayString = "${merge-orchestrator.notification-outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    private void relay() {
+        // notifications written from now on need another relay
+        relayPending.set(false);
+        try {
+            while (relayBatch() == batchSize) {
+                // next batch
+            }
+        } catch (Exception e) {
+            LOGGER.error("Merge notifications relay error, retrying later : ", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<MergeNotificationEntity> notifications = transactionTemplate.execute(status -> leaseBatch());
+        if (notifications == null || notifications.isEmpty()) {
+            return 0;
+        }
+        // sent and confirmed out of any transaction, so that no connection nor lock is held meanwhile
+        List<Long> ids = notifications.stream().map(MergeNotificationEntity::getId).toList();
+        try {
+            send(notifications);
+        } catch (RuntimeException e) {
+            // relayed again on the next relay, rather than once the lease expired
+            transactionTemplate.executeWithoutResult(status -> mergeNotificationRepository.lease(ids, null));
+            throw e;
+        }
+        transactionTemplate.executeWithoutResult(status -> mergeNotificationRepository.deleteAllByIdInBatch(ids));
+        return notifications.size();
+    }
+
+    /**
+     * Leases the oldest notifications, none if they are leased by another instance. The rows are locked only until
+     * the lease is committed, the instances leasing the same oldest rows being serialized.
+     */
+    private List<MergeNotificationEntity> leaseBatch() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<MergeNotificationEntity> notifications = mergeNotificationRepository.findByOrderById(Limit.of(batchSize));
+        if (notifications.stream().anyMatch(notification -> notification.getLeaseExpiration() != null
+                && notification.getLeaseExpiration().isAfter(now))) {
+            // relayed by another instance
+            return List.of();
+        }
+        mergeNotificationRepository.lease(notifications.stream().map(MergeNotificationEntity::getId).toList(), now.plus(lease));
+        return notifications;
+    }
+
+    private void send(List<MergeNotificationEntity> notifications) {
+        List<CorrelationData> confirmations = new ArrayList<>();
+        for (MergeNotificationEntity notification : notifications) {
+            MessageBuilder<String> builder = MessageBuilder
+                    .withPayload("")
+                    .setHeader(PROCESS_UUID_HEADER, notification.getProcessUuid())
+                    .setHeader(BUSINESS_PROCESS_HEADER, notification.getBusinessProcess())
+                    .setHeader(DATE_HEADER, notification.getDate())
+                    .setHeader(TSO_HEADER, notification.getTso())
+                    .setHeader(STATUS_HEADER, notification.getStatus())
+                    .setHeader(ERROR_HEADER, notification.getError())
+                    .setHeader(JOB_UUID_HEADER, notification.getJobUuid());
+            if (publisherConfirms) {
+                CorrelationData correlationData = new CorrelationData(notification.getId().toString());
+                builder.setHeader(AmqpHeaders.PUBLISH_CONFIRM_CORRELATION, correlationData);
+                confirmations.add(correlationData);
+            }
+            Message<String> message = builder.build();
+            LOGGER.debug("Sending message : {}", message);
+            if (!streamBridge.send(PUBLISH_MERGE_BINDING, message)) {
+                throw new PowsyblException("Merge notification " + notification.getId() + " not sent");
+            }
+        }
+        awaitConfirmations(confirmations);
+    }
+
+    private void awaitConfirmations(List<CorrelationData> confirmations) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        for (CorrelationData correlationData : confirmations) {
+            try {
+                CorrelationData.Confirm confirm = correlationData.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    throw new PowsyblException("Merge notification " + correlationData.getId() + " not acknowledged : " + confirm.getReason());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PowsyblException("Interrupted while waiting for the merge notifications confirmations");
+            } catch (ExecutionException | TimeoutException e) {
+                throw new PowsyblException("Merge notification " + correlationData.getId() + " not confirmed", e);
+            }
+        }
+    }
+}
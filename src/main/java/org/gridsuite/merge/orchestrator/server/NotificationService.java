@@ -6,6 +6,8 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
+import org.gridsuite.merge.orchestrator.server.repositories.MergeNotificationEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeNotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,8 @@ import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -20,60 +24,63 @@ import java.util.UUID;
  * @author Seddik Yengui <seddik.yengui at rte-france.com
  */
 
-// Today we don't send notification inside @Transactional block. If this behavior change, we should use @PostCompletion to
-// make sure that the notification is sent only when all the work inside @Transactional block is done.
+// The merge notifications are written to an outbox, in the transaction of the notified change if any, then sent to
+// the broker by the NotificationRelay once committed.
 @Service
 public class NotificationService {
 
     private static final String CATEGORY_BROKER_OUTPUT = MergeEventService.class.getName() + ".output-broker-messages";
 
     private static final String PROCESS_UUID_HEADER = "processUuid";
-    private static final String BUSINESS_PROCESS_HEADER = "businessProcess";
-    private static final String DATE_HEADER = "date";
-    private static final String STATUS_HEADER = "status";
-    private static final String TSO_HEADER = "tso";
-    private static final String ERROR_HEADER = "error";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CATEGORY_BROKER_OUTPUT);
 
     @Autowired
     private StreamBridge mergeInfosPublisher;
 
-    private void sendMergeMessage(Message<String> message) {
-        LOGGER.debug("Sending message : {}", message);
-        mergeInfosPublisher.send("publishMerge-out-0", message);
+    @Autowired
+    private MergeNotificationRepository mergeNotificationRepository;
+
+    @Autowired
+    private NotificationRelay notificationRelay;
+
+    private void sendMergeMessage(MergeNotificationEntity notification) {
+        LOGGER.debug("Writing notification : {}", notification);
+        mergeNotificationRepository.save(notification);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notificationRelay.wakeUp();
+                }
+            });
+        } else {
+            notificationRelay.wakeUp();
+        }
     }
 
     public void emitMergeIgmEvent(UUID processUuid, String businessProcess, String date, String tso, String status) {
-        Message<String> message = MessageBuilder
-                .withPayload("")
-                .setHeader(PROCESS_UUID_HEADER, processUuid)
-                .setHeader(BUSINESS_PROCESS_HEADER, businessProcess)
-                .setHeader(DATE_HEADER, date)
-                .setHeader(TSO_HEADER, tso)
-                .setHeader(STATUS_HEADER, status)
-                .build();
-        sendMergeMessage(message);
+        sendMergeMessage(new MergeNotificationEntity(processUuid, businessProcess, date, tso, status, null));
     }
 
     public void emitMergeEvent(UUID processUuid, String businessProcess, String date, String status) {
-        Message<String> message = MessageBuilder
-                .withPayload("")
-                .setHeader(PROCESS_UUID_HEADER, processUuid)
-                .setHeader(BUSINESS_PROCESS_HEADER, businessProcess)
-                .setHeader(DATE_HEADER, date)
-                .setHeader(STATUS_HEADER, status)
-                .build();
-        sendMergeMessage(message);
+        sendMergeMessage(new MergeNotificationEntity(processUuid, businessProcess, date, null, status, null));
     }
 
     public void emitErrorEvent(UUID processUuid, String businessProcess, String errorMessage) {
+        sendMergeMessage(new MergeNotificationEntity(processUuid, businessProcess, null, null, null, errorMessage));
+    }
+
+    public void emitReplaceIgmsJobEvent(UUID processUuid, String businessProcess, String date, UUID jobUuid, String status, String errorMessage) {
+        sendMergeMessage(new MergeNotificationEntity(processUuid, businessProcess, date, null, status, errorMessage, jobUuid));
+    }
+
+    public void emitProcessConfigChanged(UUID processUuid) {
         Message<String> message = MessageBuilder
                 .withPayload("")
                 .setHeader(PROCESS_UUID_HEADER, processUuid)
-                .setHeader(BUSINESS_PROCESS_HEADER, businessProcess)
-                .setHeader(ERROR_HEADER, errorMessage)
                 .build();
-        sendMergeMessage(message);
+        LOGGER.debug("Sending message : {}", message);
+        mergeInfosPublisher.send("publishConfig-out-0", message);
     }
 }
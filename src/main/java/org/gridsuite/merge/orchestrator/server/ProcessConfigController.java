@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
+import org.gridsuite.merge.orchestrator.server.dto.ReplacingRules;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,8 +34,12 @@ public class ProcessConfigController {
 
     private final MergeOrchestratorConfigService mergeOrchestratorConfigService;
 
-    public ProcessConfigController(MergeOrchestratorConfigService mergeOrchestratorConfigService) {
+    private final ReplacingRulesService replacingRulesService;
+
+    public ProcessConfigController(MergeOrchestratorConfigService mergeOrchestratorConfigService,
+                                   ReplacingRulesService replacingRulesService) {
         this.mergeOrchestratorConfigService = mergeOrchestratorConfigService;
+        this.replacingRulesService = replacingRulesService;
     }
 
     @GetMapping(value = "/configs", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -68,5 +73,38 @@ public class ProcessConfigController {
         mergeOrchestratorConfigService.deleteConfig(processUuid);
         return ResponseEntity.ok().build();
     }
-}
 
+    @GetMapping(value = "/replacing-rules", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the replacement rules of all the business processes not using the default ones")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The list of replacement rules")})
+    public ResponseEntity<List<ReplacingRules>> getReplacingRules() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(replacingRulesService.getReplacingRules());
+    }
+
+    @GetMapping(value = "/replacing-rules/{businessProcess}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the replacement rules of a business process")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The replacement rules of the business process"),
+        @ApiResponse(responseCode = "404", description = "The business process uses the default replacement rules")})
+    public ResponseEntity<ReplacingRules> getReplacingRules(@PathVariable String businessProcess) {
+        return replacingRulesService.getReplacingRules(businessProcess)
+                .map(rules -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(rules))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping(value = "/replacing-rules/{businessProcess}")
+    @Operation(summary = "Set the replacement rules of a business process, used by the next replacements")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The replacement rules set"),
+        @ApiResponse(responseCode = "400", description = "The replacement rules are invalid")})
+    public ResponseEntity<Void> setReplacingRules(@PathVariable String businessProcess, @RequestBody ReplacingRules replacingRules) {
+        replacingRulesService.saveReplacingRules(businessProcess, replacingRules.getFormat(), replacingRules.getRules());
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping(value = "/replacing-rules/{businessProcess}")
+    @Operation(summary = "Delete the replacement rules of a business process, using the default ones again")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The replacement rules deleted"),
+        @ApiResponse(responseCode = "404", description = "The business process already uses the default replacement rules")})
+    public ResponseEntity<Void> deleteReplacingRules(@PathVariable String businessProcess) {
+        return replacingRulesService.deleteReplacingRules(businessProcess) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+}
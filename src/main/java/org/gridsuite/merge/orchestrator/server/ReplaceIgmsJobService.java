@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.merge.orchestrator.server.dto.IgmReplacingInfo;
+import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
+import org.gridsuite.merge.orchestrator.server.dto.ReplaceIgmsJob;
+import org.gridsuite.merge.orchestrator.server.dto.ReplaceIgmsJobStatus;
+import org.gridsuite.merge.orchestrator.server.repositories.ReplaceIgmsJobEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.ReplaceIgmsJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the replacements of the missing or invalid IGMs of merges in background. The jobs state is stored in the
+ * replace_igms_job table, so that it can be queried from any instance, and each state change is notified.
+ * The replacement itself is not run in a transaction : only its database writes are.
+ * A job is leased by the instance running it, the lease being renewed while it runs : the jobs left pending or
+ * running by a stopped instance are run again by another instance once their lease expired.
+ */
+@Service
+public class ReplaceIgmsJobService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplaceIgmsJobService.class);
+
+    private static final TypeReference<Map<String, IgmReplacingInfo>> RESULT_TYPE = new TypeReference<>() {
+    };
+
+    private final MergeOrchestratorService mergeOrchestratorService;
+
+    private final MergeOrchestratorConfigService mergeConfigService;
+
+    private final ReplaceIgmsJobRepository replaceIgmsJobRepository;
+
+    private final NotificationService notificationService;
+
+    private final ObjectMapper objectMapper;
+
+    // job state changes are committed right away, so that they are visible to the other instances
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService jobExecutor;
+
+    private final Duration lease;
+
+    // current lease of the jobs run by this instance
+    private final Map<UUID, LocalDateTime> jobLeases = new ConcurrentHashMap<>();
+
+    public ReplaceIgmsJobService(MergeOrchestratorService mergeOrchestratorService,
+                                 MergeOrchestratorConfigService mergeConfigService,
+                                 ReplaceIgmsJobRepository replaceIgmsJobRepository,
+                                 NotificationService notificationService,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${merge-orchestrator.replace-igms-parallelism:2}") int replaceIgmsParallelism,
+                                 @Value("${merge-orchestrator.replace-igms-job.lease-minutes:10}") long leaseMinutes) {
+        this.mergeOrchestratorService = mergeOrchestratorService;
+        this.mergeConfigService = mergeConfigService;
+        this.replaceIgmsJobRepository = replaceIgmsJobRepository;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobExecutor = Executors.newFixedThreadPool(replaceIgmsParallelism, new CustomizableThreadFactory("replace-igms-job-"));
+        this.lease = Duration.ofMinutes(leaseMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdown();
+    }
+
+    /**
+     * Submits the replacement of the missing or invalid IGMs of a merge, run once the current transaction if any is committed
+     */
+    public ReplaceIgmsJob submit(UUID processUuid, ZonedDateTime processDate) {
+        ReplaceIgmsJobEntity job = new ReplaceIgmsJobEntity(UUID.randomUUID(), processUuid, toUtc(processDate),
+                ReplaceIgmsJobStatus.PENDING.name(), LocalDateTime.now(ZoneOffset.UTC));
+        LocalDateTime jobLease = newLease();
+        job.setLeaseExpiration(jobLease);
+        replaceIgmsJobRepository.save(job);
+        notify(job, null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    execute(job.getId(), jobLease);
+                }
+            });
+        } else {
+            execute(job.getId(), jobLease);
+        }
+        return toReplaceIgmsJob(job);
+    }
+
+    public Optional<ReplaceIgmsJob> getJob(UUID jobUuid) {
+        return replaceIgmsJobRepository.findById(jobUuid).map(this::toReplaceIgmsJob);
+    }
+
+    /**
+     * Runs again the jobs left pending or running by a stopped instance, each one being claimed by a single instance
+     */
+    @Scheduled(fixedDelayString = "${merge-orchestrator.replace-igms-job.recovery-poll-interval-ms:60000}")
+    public void recoverJobs() {
+        List<String> statuses = List.of(ReplaceIgmsJobStatus.PENDING.name(), ReplaceIgmsJobStatus.RUNNING.name());
+        for (ReplaceIgmsJobEntity job : replaceIgmsJobRepository.findByStatusInAndLeaseExpirationLessThan(statuses, now())) {
+            LocalDateTime jobLease = newLease();
+            Integer claimed = transactionTemplate.execute(status -> replaceIgmsJobRepository.replaceLease(job.getId(), job.getLeaseExpiration(), jobLease));
+            if (claimed != null && claimed == 1) {
+                LOGGER.info("Replace IGMs job {} of merge {} of process {} left {}, run again", job.getId(), job.getDate(), job.getProcessUuid(), job.getStatus());
+                execute(job.getId(), jobLease);
+            }
+        }
+    }
+
+    /**
+     * Renews the leases of the jobs run by this instance, a job whose lease was claimed by another instance meanwhile
+     * being left to it
+     */
+    @Scheduled(fixedDelayString = "${merge-orchestrator.replace-igms-job.lease-renewal-interval-ms:60000}")
+    public void renewLeases() {
+        jobLeases.forEach((jobUuid, jobLease) -> {
+            LocalDateTime renewedLease = newLease();
+            Integer renewed = transactionTemplate.execute(status -> replaceIgmsJobRepository.replaceLease(jobUuid, jobLease, renewedLease));
+            if (renewed != null && renewed == 1) {
+                jobLeases.replace(jobUuid, jobLease, renewedLease);
+            } else if (jobLeases.remove(jobUuid, jobLease)) {
+                LOGGER.warn("Replace IGMs job {} : lease lost", jobUuid);
+            }
+        });
+    }
+
+    private void execute(UUID jobUuid, LocalDateTime jobLease) {
+        // renewed from now on, even while the job is queued
+        jobLeases.put(jobUuid, jobLease);
+        jobExecutor.execute(() -> run(jobUuid));
+    }
+
+    private void run(UUID jobUuid) {
+        try {
+            ReplaceIgmsJobEntity job = updateJob(jobUuid, ReplaceIgmsJobStatus.RUNNING, null, null);
+            if (job == null) {
+                return;
+            }
+            ZonedDateTime processDate = job.getDate().atZone(ZoneOffset.UTC);
+            try {
+                Map<String, IgmReplacingInfo> replacingIgms = mergeOrchestratorService.replaceIGMs(job.getProcessUuid(), processDate);
+                updateJob(jobUuid, ReplaceIgmsJobStatus.SUCCEED, replacingIgms != null ? objectMapper.writeValueAsString(replacingIgms) : null, null);
+            } catch (Exception e) {
+                LOGGER.error("Replace IGMs job {} of merge {} of process {} failed : ", jobUuid, processDate, job.getProcessUuid(), e);
+                updateJob(jobUuid, ReplaceIgmsJobStatus.FAILED, null, e.getMessage());
+            }
+        } finally {
+            LocalDateTime jobLease = jobLeases.remove(jobUuid);
+            if (jobLease != null) {
+                transactionTemplate.executeWithoutResult(status -> replaceIgmsJobRepository.replaceLease(jobUuid, jobLease, null));
+            }
+        }
+    }
+
+    private ReplaceIgmsJobEntity updateJob(UUID jobUuid, ReplaceIgmsJobStatus status, String result, String error) {
+        return transactionTemplate.execute(transactionStatus -> replaceIgmsJobRepository.findById(jobUuid).map(job -> {
+            job.setStatus(status.name());
+            job.setResult(result);
+            job.setError(error);
+            if (status == ReplaceIgmsJobStatus.SUCCEED || status == ReplaceIgmsJobStatus.FAILED) {
+                job.setEndDate(LocalDateTime.now(ZoneOffset.UTC));
+            }
+            notify(job, error);
+            return job;
+        }).orElse(null));
+    }
+
+    private void notify(ReplaceIgmsJobEntity job, String error) {
+        String businessProcess = mergeConfigService.getConfig(job.getProcessUuid()).map(ProcessConfig::getBusinessProcess).orElse(null);
+        notificationService.emitReplaceIgmsJobEvent(job.getProcessUuid(), businessProcess,
+                job.getDate().atZone(ZoneOffset.UTC).format(DateTimeFormatter.ISO_DATE_TIME), job.getId(), job.getStatus(), error);
+    }
+
+    private ReplaceIgmsJob toReplaceIgmsJob(ReplaceIgmsJobEntity job) {
+        Map<String, IgmReplacingInfo> replacingIgms = null;
+        if (job.getResult() != null) {
+            try {
+                replacingIgms = objectMapper.readValue(job.getResult(), RESULT_TYPE);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new ReplaceIgmsJob(job.getId(), job.getProcessUuid(), job.getDate().atZone(ZoneOffset.UTC),
+                ReplaceIgmsJobStatus.valueOf(job.getStatus()), replacingIgms, job.getError());
+    }
+
+    private LocalDateTime newLease() {
+        return now().plus(lease);
+    }
+
+    // the leases are compared to the stored ones : truncated to the database precision
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static LocalDateTime toUtc(ZonedDateTime dateTime) {
+        return LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+    }
+}
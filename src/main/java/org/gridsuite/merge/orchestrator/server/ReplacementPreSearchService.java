@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.merge.orchestrator.server.dto.CaseInfos;
+import org.gridsuite.merge.orchestrator.server.dto.IgmStatus;
+import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.gridsuite.merge.orchestrator.server.dto.ProcessConfig.ACCEPTED_FORMAT;
+
+/**
+ * Searches in advance the replacing cases of the IGMs still missing or invalid for the upcoming merges, so that
+ * replacing them only costs the imports. For each merge whose gate closure, or date if the process has no gate
+ * closure, is within the horizon, the candidates given by the replacement rules are searched in their priority
+ * order, until enough cases are found for each TSO.
+ * A search result is not used any more for a TSO once a case of this TSO is imported at the candidate date : the
+ * outdated results of a merge are searched again in background, the imports received while a refresh is pending
+ * being handled by this refresh. Each instance receives the case imports, its search results being its own.
+ */
+@Service
+public class ReplacementPreSearchService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplacementPreSearchService.class);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private static final String DATE_HEADER_KEY = "date";
+    private static final String TSO_CODE_HEADER_KEY = "tso";
+    private static final String BUSINESS_PROCESS_HEADER_KEY = "businessProcess";
+
+    private record MergeKey(UUID processUuid, LocalDateTime date) {
+    }
+
+    private record CandidateKey(Instant date, String businessProcess) {
+    }
+
+    private record CaseKey(Instant date, String businessProcess, String tso) {
+    }
+
+    // cases found for the searched tsos at a candidate date
+    private record CandidateCases(Set<String> searchedTsos, Map<String, UUID> caseUuidsByTso, Instant searchDate) {
+    }
+
+    // candidates in priority order
+    private record PreSearch(ProcessConfig config, Set<String> missingTsos, Map<CandidateKey, CandidateCases> candidates) {
+    }
+
+    private final MergeOrchestratorConfigService mergeConfigService;
+
+    private final MergeRepository mergeRepository;
+
+    private final CaseFetcherService caseFetcherService;
+
+    private final ReplacingRulesService replacingRulesService;
+
+    private final Duration horizon;
+
+    private final int casesPerTso;
+
+    private final Map<MergeKey, PreSearch> preSearches = new ConcurrentHashMap<>();
+
+    // last import date of the cases, to recognize the outdated search results
+    private final Map<CaseKey, Instant> caseImportDates = new ConcurrentHashMap<>();
+
+    // searches again the outdated results right after the case imports
+    private final ExecutorService refreshExecutor;
+
+    // merges whose refresh is queued and not started yet
+    private final Set<MergeKey> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    public ReplacementPreSearchService(MergeOrchestratorConfigService mergeConfigService,
+                                       MergeRepository mergeRepository,
+                                       CaseFetcherService caseFetcherService,
+                                       ReplacingRulesService replacingRulesService,
+                                       @Value("${merge-orchestrator.replacement-pre-search.horizon-minutes:60}") long horizonMinutes,
+                                       @Value("${merge-orchestrator.replacement-pre-search.cases-per-tso:2}") int casesPerTso) {
+        this.mergeConfigService = mergeConfigService;
+        this.mergeRepository = mergeRepository;
+        this.caseFetcherService = caseFetcherService;
+        this.replacingRulesService = replacingRulesService;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.casesPerTso = casesPerTso;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("replacement-pre-search-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    /**
+     * Returns the first case of each tso at a candidate date, from the search done in advance if up to date, from
+     * the case server otherwise
+     */
+    public Map<String, UUID> getCaseUuids(ProcessConfig config, ZonedDateTime processDate, ReplacingDate candidate, Collection<String> tsos) {
+        PreSearch preSearch = preSearches.get(new MergeKey(config.getProcessUuid(), toUtc(processDate)));
+        CandidateKey candidateKey = new CandidateKey(candidate.getDateTime().toInstant(), candidate.getBusinessProcess());
+        CandidateCases candidateCases = preSearch != null ? preSearch.candidates().get(candidateKey) : null;
+        if (candidateCases != null && candidateCases.searchedTsos().containsAll(tsos)
+                && tsos.stream().noneMatch(tso -> isOutdated(candidateKey, candidateCases, tso))) {
+            Map<String, UUID> caseUuidsByTso = new HashMap<>();
+            tsos.forEach(tso -> {
+                UUID caseUuid = candidateCases.caseUuidsByTso().get(tso);
+                if (caseUuid != null) {
+                    caseUuidsByTso.put(tso, caseUuid);
+                }
+            });
+            return caseUuidsByTso;
+        }
+        return searchCases(candidateKey, tsos);
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeCaseImportEvent() {
+        return message -> {
+            MessageHeaders headers = message.getHeaders();
+            String date = (String) headers.get(DATE_HEADER_KEY);
+            if (date == null) {
+                return;
+            }
+            // the case may replace the IGMs of other merges
+            onCaseImported(ZonedDateTime.parse(date), (String) headers.get(BUSINESS_PROCESS_HEADER_KEY), (String) headers.get(TSO_CODE_HEADER_KEY));
+        };
+    }
+
+    /**
+     * Outdates the search results of the candidate date of an imported case
+     */
+    public void onCaseImported(ZonedDateTime dateTime, String businessProcess, String tso) {
+        CaseKey caseKey = new CaseKey(dateTime.toInstant(), businessProcess, tso);
+        caseImportDates.put(caseKey, Instant.now());
+        CandidateKey candidateKey = new CandidateKey(caseKey.date(), businessProcess);
+        preSearches.forEach((mergeKey, preSearch) -> {
+            CandidateCases candidateCases = preSearch.candidates().get(candidateKey);
+            if (candidateCases != null && candidateCases.searchedTsos().contains(tso) && pendingRefreshes.add(mergeKey)) {
+                refreshExecutor.execute(() -> {
+                    // the imports received from now on outdating the results again
+                    pendingRefreshes.remove(mergeKey);
+                    refreshOutdated(mergeKey);
+                });
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${merge-orchestrator.replacement-pre-search.poll-interval-ms:60000}")
+    public void preSearchUpcomingMerges() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Set<MergeKey> upcomingMerges = new HashSet<>();
+        for (ProcessConfig config : mergeConfigService.getConfigs()) {
+            // the horizon starting from the gate closure, if any
+            long gateClosureOffset = config.getGateClosureOffsetMinutes() != null ? config.getGateClosureOffsetMinutes() : 0;
+            LocalDateTime maxDate = now.plus(horizon).plusMinutes(gateClosureOffset);
+            Map<LocalDateTime, Set<String>> validTsosByDate = new LinkedHashMap<>();
+            for (MergeRepository.MergeIgm mergeIgm : mergeRepository.findMergeWithIgmsByProcessUuidAndInterval(config.getProcessUuid(), now, maxDate)) {
+                Set<String> validTsos = validTsosByDate.computeIfAbsent(mergeIgm.getDate(), date -> new HashSet<>());
+                if (IgmStatus.VALIDATION_SUCCEED.name().equals(mergeIgm.getIgmStatus())) {
+                    validTsos.add(mergeIgm.getTso());
+                }
+            }
+            validTsosByDate.forEach((date, validTsos) -> {
+                Set<String> missingTsos = new LinkedHashSet<>(config.getTsos());
+                missingTsos.removeAll(validTsos);
+                if (missingTsos.isEmpty()) {
+                    return;
+                }
+                MergeKey mergeKey = new MergeKey(config.getProcessUuid(), date);
+                upcomingMerges.add(mergeKey);
+                PreSearch preSearch = preSearches.get(mergeKey);
+                if (preSearch == null || !preSearch.missingTsos().containsAll(missingTsos)) {
+                    refresh(mergeKey, config, missingTsos);
+                } else if (isOutdated(preSearch)) {
+                    refreshOutdated(mergeKey);
+                }
+            });
+        }
+        preSearches.keySet().retainAll(upcomingMerges);
+
+        // imports older than all the searches do not outdate anything any more
+        Instant oldestSearch = preSearches.values().stream().flatMap(preSearch -> preSearch.candidates().values().stream())
+                .map(CandidateCases::searchDate).min(Instant::compareTo).orElse(Instant.now());
+        caseImportDates.values().removeIf(importDate -> importDate.isBefore(oldestSearch));
+    }
+
+    private void refresh(MergeKey mergeKey, ProcessConfig config, Set<String> missingTsos) {
+        try {
+            PreSearch searched = search(config, mergeKey.date(), missingTsos);
+            // a candidate searched again in the meantime by a refresh of the outdated results kept
+            preSearches.merge(mergeKey, searched, (current, newSearch) ->
+                    new PreSearch(newSearch.config(), newSearch.missingTsos(), newerCandidates(newSearch.candidates(), current.candidates())));
+        } catch (Exception e) {
+            // searched again on the next run, the replacement searching the cases itself until then
+            preSearches.remove(mergeKey);
+            LOGGER.error("Replacing IGMs pre-search of merge {} of process {} failed : ", mergeKey.date(), config.getProcess(), e);
+        }
+    }
+
+    /**
+     * Searches again the outdated (candidate, TSO) results of a merge only
+     */
+    private void refreshOutdated(MergeKey mergeKey) {
+        PreSearch preSearch = preSearches.get(mergeKey);
+        if (preSearch == null) {
+            return;
+        }
+        // before looking for the outdated results, so that a case imported meanwhile outdates the refreshed ones
+        Instant searchDate = Instant.now();
+        Map<CandidateKey, CandidateCases> refreshedCandidates = new HashMap<>();
+        try {
+            preSearch.candidates().forEach((candidateKey, candidateCases) -> {
+                Set<String> outdatedTsos = candidateCases.searchedTsos().stream()
+                        .filter(tso -> isOutdated(candidateKey, candidateCases, tso))
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                if (!outdatedTsos.isEmpty()) {
+                    Map<String, UUID> caseUuidsByTso = new HashMap<>(candidateCases.caseUuidsByTso());
+                    caseUuidsByTso.keySet().removeAll(outdatedTsos);
+                    caseUuidsByTso.putAll(searchCases(candidateKey, outdatedTsos));
+                    refreshedCandidates.put(candidateKey, new CandidateCases(candidateCases.searchedTsos(), Map.copyOf(caseUuidsByTso), searchDate));
+                }
+            });
+        } catch (Exception e) {
+            // searched again on the next run, the replacement searching the outdated cases itself until then
+            LOGGER.error("Replacing IGMs pre-search refresh of merge {} of process {} failed : ", mergeKey.date(), preSearch.config().getProcess(), e);
+            return;
+        }
+        // the search results of a newer search kept
+        preSearches.computeIfPresent(mergeKey, (key, current) ->
+                new PreSearch(current.config(), current.missingTsos(), newerCandidates(current.candidates(), refreshedCandidates)));
+    }
+
+    // the candidates of a search, in their priority order, replaced by the ones searched later for the same TSOs
+    private static Map<CandidateKey, CandidateCases> newerCandidates(Map<CandidateKey, CandidateCases> candidates,
+                                                                     Map<CandidateKey, CandidateCases> otherCandidates) {
+        Map<CandidateKey, CandidateCases> newerCandidates = new LinkedHashMap<>();
+        candidates.forEach((candidateKey, candidateCases) -> {
+            CandidateCases otherCandidateCases = otherCandidates.get(candidateKey);
+            newerCandidates.put(candidateKey, otherCandidateCases != null
+                    && otherCandidateCases.searchedTsos().equals(candidateCases.searchedTsos())
+                    && otherCandidateCases.searchDate().isAfter(candidateCases.searchDate()) ? otherCandidateCases : candidateCases);
+        });
+        return newerCandidates;
+    }
+
+    private PreSearch search(ProcessConfig config, LocalDateTime date, Set<String> missingTsos) {
+        Instant searchDate = Instant.now();
+        String formattedDate = date.atZone(ZoneOffset.UTC).format(DATE_FORMATTER);
+        List<ReplacingDate> replacingDates = replacingRulesService.getRules(config.getBusinessProcess())
+                .getReplacingDates(formattedDate, config.getProcess(), config.getBusinessProcess());
+
+        Map<CandidateKey, CandidateCases> candidates = new LinkedHashMap<>();
+        Map<String, Integer> foundCases = new HashMap<>();
+        Set<String> searchedTsos = new LinkedHashSet<>(missingTsos);
+        for (ReplacingDate replacingDate : replacingDates) {
+            if (searchedTsos.isEmpty()) {
+                break;
+            }
+            CandidateKey candidateKey = new CandidateKey(replacingDate.getDateTime().toInstant(), replacingDate.getBusinessProcess());
+            Map<String, UUID> caseUuidsByTso = searchCases(candidateKey, searchedTsos);
+            candidates.put(candidateKey, new CandidateCases(Set.copyOf(searchedTsos), Map.copyOf(caseUuidsByTso), searchDate));
+            caseUuidsByTso.keySet().forEach(tso -> {
+                if (foundCases.merge(tso, 1, Integer::sum) >= casesPerTso) {
+                    searchedTsos.remove(tso);
+                }
+            });
+        }
+        LOGGER.debug("Merge {} of process {} {} : replacing IGMs of TSOs {} searched in {} candidates", formattedDate,
+                config.getProcess(), config.getBusinessProcess(), missingTsos, candidates.size());
+        return new PreSearch(config, Set.copyOf(missingTsos), candidates);
+    }
+
+    private Map<String, UUID> searchCases(CandidateKey candidateKey, Collection<String> tsos) {
+        List<CaseInfos> casesInfos = caseFetcherService.getCases(new ArrayList<>(tsos), candidateKey.date().atZone(ZoneOffset.UTC),
+                ACCEPTED_FORMAT, candidateKey.businessProcess());
+        Map<String, UUID> caseUuidsByTso = new HashMap<>();
+        casesInfos.forEach(caseInfos -> caseUuidsByTso.putIfAbsent(caseInfos.getTso(), caseInfos.getUuid()));
+        return caseUuidsByTso;
+    }
+
+    private boolean isOutdated(CandidateKey candidateKey, CandidateCases candidateCases, String tso) {
+        Instant importDate = caseImportDates.get(new CaseKey(candidateKey.date(), candidateKey.businessProcess(), tso));
+        return importDate != null && !importDate.isBefore(candidateCases.searchDate());
+    }
+
+    private boolean isOutdated(PreSearch preSearch) {
+        return preSearch.candidates().entrySet().stream().anyMatch(candidate -> candidate.getValue().searchedTsos().stream()
+                .anyMatch(tso -> isOutdated(candidate.getKey(), candidate.getValue(), tso)));
+    }
+
+    private static LocalDateTime toUtc(ZonedDateTime dateTime) {
+        return LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+    }
+}
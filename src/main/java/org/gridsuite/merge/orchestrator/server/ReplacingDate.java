@@ -6,21 +6,46 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 public class ReplacingDate {
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
     private String date;
 
     private String businessProcess;
 
+    // set when the candidate is computed natively, parsed from the date otherwise
+    @Getter(AccessLevel.NONE)
+    private ZonedDateTime dateTime;
+
+    public ReplacingDate(String date, String businessProcess) {
+        this.date = date;
+        this.businessProcess = businessProcess;
+    }
+
+    public ReplacingDate(ZonedDateTime dateTime, String businessProcess) {
+        this.dateTime = dateTime.withZoneSameInstant(UTC);
+        this.date = this.dateTime.format(DATE_FORMATTER);
+        this.businessProcess = businessProcess;
+    }
+
+    public ZonedDateTime getDateTime() {
+        return dateTime != null ? dateTime : ZonedDateTime.parse(date, DateTimeFormatter.ISO_ZONED_DATE_TIME.withZone(UTC));
+    }
+
     public String toString() {
         return "date:" + date + " " + "businessProcess:" + businessProcess;
     }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proposes the ordered list of (date, business process) candidates to replace a missing or invalid IGM, from a Groovy
+ * replacement rules script taking the timestamp, processName and businessProcess parameters.
+ * The script is compiled once, and run on a new script instance each time so that concurrent runs do not share any
+ * binding. Its result is memoized by time of day, day of week, process and business process, the candidates being
+ * stored relatively to the day of the timestamp : the rules must not depend on anything else.
+ */
+public class ReplacingIgmRuleEngine implements ReplacingIgmRules {
+
+    private static final String TIMESTAMP_PARAMETER = "timestamp";
+    private static final String PROCESS_NAME_PARAMETER = "processName";
+    private static final String BUSINESS_PROCESS_PARAMETER = "businessProcess";
+
+    private record RulesKey(String timeOfDay, DayOfWeek dayOfWeek, String process, String businessProcess) {
+    }
+
+    // candidate day relative to the timestamp day, time of day as formatted by the script
+    private record Candidate(long dayOffset, String timeOfDay, String businessProcess) {
+    }
+
+    private final Class<? extends Script> scriptClass;
+
+    private final Map<RulesKey, List<Candidate>> candidatesCache = new ConcurrentHashMap<>();
+
+    public ReplacingIgmRuleEngine(String scriptName, String scriptText) {
+        // the class loader is kept by the compiled class, for the classes it loads while running
+        GroovyClassLoader classLoader = new GroovyClassLoader(ReplacingIgmRuleEngine.class.getClassLoader());
+        this.scriptClass = classLoader.parseClass(new GroovyCodeSource(scriptText, scriptName, GroovyShell.DEFAULT_CODE_BASE)).asSubclass(Script.class);
+    }
+
+    public static ReplacingIgmRuleEngine fromResource(String resourceName) {
+        try (InputStream is = new ClassPathResource(resourceName).getInputStream()) {
+            return new ReplacingIgmRuleEngine(resourceName, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<ReplacingDate> getReplacingDates(String timestamp, String process, String businessProcess) {
+        int timeIndex = timestamp.indexOf('T');
+        LocalDate day = LocalDate.parse(timestamp.substring(0, timeIndex));
+        RulesKey key = new RulesKey(timestamp.substring(timeIndex + 1), day.getDayOfWeek(), process, businessProcess);
+        List<Candidate> candidates = candidatesCache.computeIfAbsent(key, k -> toCandidates(day, runScript(timestamp, process, businessProcess)));
+
+        List<ReplacingDate> replacingDates = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            replacingDates.add(new ReplacingDate(day.plusDays(candidate.dayOffset()) + "T" + candidate.timeOfDay(), candidate.businessProcess()));
+        }
+        return replacingDates;
+    }
+
+    /**
+     * Runs the replacement rules script, without memoization
+     */
+    public List<ReplacingDate> runScript(String timestamp, String process, String businessProcess) {
+        Binding binding = new Binding();
+        binding.setVariable(TIMESTAMP_PARAMETER, timestamp);
+        binding.setVariable(PROCESS_NAME_PARAMETER, process);
+        binding.setVariable(BUSINESS_PROCESS_PARAMETER, businessProcess);
+        Object result = InvokerHelper.createScript(scriptClass, binding).run();
+
+        List<ReplacingDate> replacingDates = new ArrayList<>();
+        for (Object elt : (List<?>) result) {
+            String[] splitted = ((String) elt).split("\\s+");
+            replacingDates.add(new ReplacingDate(splitted[0], splitted[1]));
+        }
+        return replacingDates;
+    }
+
+    private static List<Candidate> toCandidates(LocalDate day, List<ReplacingDate> replacingDates) {
+        List<Candidate> candidates = new ArrayList<>(replacingDates.size());
+        for (ReplacingDate replacingDate : replacingDates) {
+            String date = replacingDate.getDate();
+            int timeIndex = date.indexOf('T');
+            candidates.add(new Candidate(ChronoUnit.DAYS.between(day, LocalDate.parse(date.substring(0, timeIndex))),
+                    date.substring(timeIndex + 1), replacingDate.getBusinessProcess()));
+        }
+        return List.copyOf(candidates);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replacement rules read from a table, equivalent to the replaceIGM.groovy rules :
+ * <ol>
+ *     <li>the other timeframes of the same day given by sameDayTimeframes,</li>
+ *     <li>the same timeframe then the sameDayTimeframes ones of a previous day, previousDayOffsets days before,</li>
+ *     <li>the other timeframes of the same day given by otherTimeframes.</li>
+ * </ol>
+ * The candidates of each timeframe and day of week are computed once, as minutes from the start of the timestamp day.
+ */
+public class ReplacingIgmRuleTable implements ReplacingIgmRules {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public record Rules(Map<String, List<String>> sameDayTimeframes,
+                        Map<DayOfWeek, Integer> previousDayOffsets,
+                        Map<String, List<String>> otherTimeframes) {
+    }
+
+    private final int[] previousDayOffsets = new int[DayOfWeek.values().length];
+
+    // candidates by day of week and minute of day of the timestamp, null for the timeframes without rules
+    private final int[][][] candidateMinutes = new int[DayOfWeek.values().length][MINUTES_PER_DAY][];
+
+    public ReplacingIgmRuleTable(Rules rules) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            Integer offset = rules.previousDayOffsets().get(dayOfWeek);
+            if (offset == null) {
+                throw new IllegalArgumentException("Previous day offset missing for " + dayOfWeek);
+            }
+            previousDayOffsets[dayOfWeek.ordinal()] = offset;
+        }
+        List<String> timeframes = new ArrayList<>(rules.sameDayTimeframes().keySet());
+        rules.otherTimeframes().keySet().stream().filter(timeframe -> !timeframes.contains(timeframe)).forEach(timeframes::add);
+        for (String timeframe : timeframes) {
+            int minute = toMinuteOfDay(timeframe);
+            List<String> sameDay = rules.sameDayTimeframes().getOrDefault(timeframe, List.of());
+            List<String> other = rules.otherTimeframes().getOrDefault(timeframe, List.of());
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                int previousDay = -previousDayOffsets[dayOfWeek.ordinal()] * MINUTES_PER_DAY;
+                int[] candidates = new int[sameDay.size() * 2 + 1 + other.size()];
+                int i = 0;
+                for (String candidate : sameDay) {
+                    candidates[i++] = toMinuteOfDay(candidate);
+                }
+                candidates[i++] = previousDay + minute;
+                for (String candidate : sameDay) {
+                    candidates[i++] = previousDay + toMinuteOfDay(candidate);
+                }
+                for (String candidate : other) {
+                    candidates[i++] = toMinuteOfDay(candidate);
+                }
+                candidateMinutes[dayOfWeek.ordinal()][minute] = candidates;
+            }
+        }
+    }
+
+    public static ReplacingIgmRuleTable fromResource(String resourceName) {
+        try (InputStream is = new ClassPathResource(resourceName).getInputStream()) {
+            return new ReplacingIgmRuleTable(new ObjectMapper().readValue(is, Rules.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ReplacingIgmRuleTable fromJson(String json) {
+        try {
+            return new ReplacingIgmRuleTable(new ObjectMapper().readValue(json, Rules.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int toMinuteOfDay(String timeframe) {
+        LocalTime time = LocalTime.parse(timeframe);
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    @Override
+    public List<ReplacingDate> getReplacingDates(String timestamp, String process, String businessProcess) {
+        ZonedDateTime dateTime = ZonedDateTime.parse(timestamp);
+        int dayOfWeek = dateTime.getDayOfWeek().ordinal();
+        int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+        int[] candidates = candidateMinutes[dayOfWeek][minute];
+        if (candidates == null) {
+            // no rule for this timeframe : same timeframe of the previous day only
+            candidates = new int[] {-previousDayOffsets[dayOfWeek] * MINUTES_PER_DAY + minute};
+        }
+
+        ZonedDateTime dayStart = dateTime.toLocalDate().atStartOfDay(UTC);
+        List<ReplacingDate> replacingDates = new ArrayList<>(candidates.length);
+        for (int candidate : candidates) {
+            replacingDates.add(new ReplacingDate(dayStart.plusMinutes(candidate), businessProcess));
+        }
+        return replacingDates;
+    }
+}
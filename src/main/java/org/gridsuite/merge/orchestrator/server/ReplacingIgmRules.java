@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import java.util.List;
+
+/**
+ * Replacement rules of the missing or invalid IGMs of a merge
+ */
+public interface ReplacingIgmRules {
+
+    /**
+     * Returns the (date, business process) candidates to replace an IGM, by decreasing priority, for a timestamp
+     * formatted as yyyy-MM-dd'T'HH:mm:ss'Z'
+     */
+    List<ReplacingDate> getReplacingDates(String timestamp, String process, String businessProcess);
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.gridsuite.merge.orchestrator.server.dto.ReplacingRules;
+import org.gridsuite.merge.orchestrator.server.dto.ReplacingRulesFormat;
+import org.gridsuite.merge.orchestrator.server.repositories.ReplacingRulesEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.ReplacingRulesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.gridsuite.merge.orchestrator.server.MergeOrchestratorException.Type.REPLACING_RULES_ERROR;
+
+/**
+ * Replacement rules of the IGMs by business process. The rules stored in the replacing_rules table override the
+ * default ones, read from the classpath. Rules are compiled and validated when saved and when reloaded from the
+ * database, never on the merge path : the compiled rules are swapped atomically and looked up by business process.
+ * Other instances pick the changes up on their next reload.
+ * Groovy scripts being run with the rights of the server, only the default rules may be Groovy ones : the stored
+ * rules are tables.
+ */
+@Service
+public class ReplacingRulesService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplacingRulesService.class);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    // every half hour of a week, the rules being validated for each of them
+    private static final List<String> VALIDATION_TIMESTAMPS;
+
+    static {
+        List<String> timestamps = new ArrayList<>();
+        ZonedDateTime start = ZonedDateTime.of(2021, 1, 11, 0, 0, 0, 0, ZoneId.of("UTC"));
+        for (int slot = 0; slot < 7 * 48; slot++) {
+            timestamps.add(start.plusMinutes(30L * slot).format(DATE_FORMATTER));
+        }
+        VALIDATION_TIMESTAMPS = List.copyOf(timestamps);
+    }
+
+    private record CompiledRules(LocalDateTime updateDate, ReplacingIgmRules rules) {
+    }
+
+    private final ReplacingRulesRepository replacingRulesRepository;
+
+    private final ReplacingIgmRules defaultRules;
+
+    // compiled rules by business process, never modified but replaced as a whole
+    private volatile Map<String, CompiledRules> rulesByBusinessProcess = Map.of();
+
+    public ReplacingRulesService(ReplacingRulesRepository replacingRulesRepository,
+                                 @Value("${merge-orchestrator.replacing-rules.default-format:groovy}") String defaultRulesFormat) {
+        this.replacingRulesRepository = replacingRulesRepository;
+        // invalid default rules must prevent the startup, rather than failing every replacement
+        this.defaultRules = ReplacingRulesFormat.valueOf(defaultRulesFormat.toUpperCase(Locale.ROOT)) == ReplacingRulesFormat.TABLE
+                ? ReplacingIgmRuleTable.fromResource("replaceIGMRules.json")
+                : ReplacingIgmRuleEngine.fromResource("replaceIGM.groovy");
+    }
+
+    public ReplacingIgmRules getRules(String businessProcess) {
+        // immutable maps do not accept null keys
+        CompiledRules compiledRules = businessProcess != null ? rulesByBusinessProcess.get(businessProcess) : null;
+        return compiledRules != null ? compiledRules.rules() : defaultRules;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReplacingRules> getReplacingRules() {
+        return replacingRulesRepository.findAll().stream().map(ReplacingRulesService::toReplacingRules).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReplacingRules> getReplacingRules(String businessProcess) {
+        return replacingRulesRepository.findById(businessProcess).map(ReplacingRulesService::toReplacingRules);
+    }
+
+    /**
+     * Saves the rules of a business process, used once the transaction is committed
+     */
+    @Transactional
+    public void saveReplacingRules(String businessProcess, ReplacingRulesFormat format, String rules) {
+        if (format == null || rules == null) {
+            throw new MergeOrchestratorException(REPLACING_RULES_ERROR, "Format and rules of business process " + businessProcess + " required");
+        }
+        ReplacingIgmRules compiled;
+        try {
+            compiled = compile(businessProcess, format, rules);
+        } catch (Exception e) {
+            throw new MergeOrchestratorException(REPLACING_RULES_ERROR, e);
+        }
+
+        ReplacingRulesEntity entity = replacingRulesRepository.findById(businessProcess).orElseGet(() -> new ReplacingRulesEntity(businessProcess));
+        entity.setFormat(format.name());
+        entity.setRules(rules);
+        // as stored by the database, to recognize these rules when reloading them
+        entity.setUpdateDate(LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS));
+        replacingRulesRepository.save(entity);
+
+        CompiledRules compiledRules = new CompiledRules(entity.getUpdateDate(), compiled);
+        afterCommit(() -> swap(compiledRulesByBusinessProcess -> compiledRulesByBusinessProcess.put(businessProcess, compiledRules)));
+    }
+
+    /**
+     * Deletes the rules of a business process, going back to the default ones once the transaction is committed
+     */
+    @Transactional
+    public boolean deleteReplacingRules(String businessProcess) {
+        if (!replacingRulesRepository.existsById(businessProcess)) {
+            return false;
+        }
+        replacingRulesRepository.deleteById(businessProcess);
+        afterCommit(() -> swap(compiledRulesByBusinessProcess -> compiledRulesByBusinessProcess.remove(businessProcess)));
+        return true;
+    }
+
+    /**
+     * Compiles the rules changed in the database, by the other instances or at startup
+     */
+    @Scheduled(fixedDelayString = "${merge-orchestrator.replacing-rules.poll-interval-ms:60000}")
+    public void reloadReplacingRules() {
+        LocalDateTime reloadDate = LocalDateTime.now(ZoneOffset.UTC);
+        Map<String, CompiledRules> currentRules = rulesByBusinessProcess;
+        Map<String, CompiledRules> reloadedRules = new HashMap<>();
+        for (ReplacingRulesEntity entity : replacingRulesRepository.findAll()) {
+            CompiledRules compiledRules = currentRules.get(entity.getBusinessProcess());
+            if (compiledRules == null || !compiledRules.updateDate().equals(entity.getUpdateDate())) {
+                try {
+                    compiledRules = new CompiledRules(entity.getUpdateDate(),
+                            compile(entity.getBusinessProcess(), ReplacingRulesFormat.valueOf(entity.getFormat()), entity.getRules()));
+                    LOGGER.info("Replacing rules of business process {} reloaded", entity.getBusinessProcess());
+                } catch (Exception e) {
+                    // the previous rules if any are kept
+                    LOGGER.error("Invalid replacing rules of business process {} : ", entity.getBusinessProcess(), e);
+                }
+            }
+            if (compiledRules != null) {
+                reloadedRules.put(entity.getBusinessProcess(), compiledRules);
+            }
+        }
+
+        swap(rules -> {
+            // rules saved locally during the reload are newer than the reloaded ones
+            rules.values().removeIf(compiledRules -> compiledRules.updateDate().isBefore(reloadDate));
+            reloadedRules.forEach((businessProcess, compiledRules) -> rules.merge(businessProcess, compiledRules,
+                    (current, reloaded) -> current.updateDate().isAfter(reloaded.updateDate()) ? current : reloaded));
+        });
+    }
+
+    private synchronized void swap(Consumer<Map<String, CompiledRules>> change) {
+        Map<String, CompiledRules> rules = new HashMap<>(rulesByBusinessProcess);
+        change.accept(rules);
+        rulesByBusinessProcess = Map.copyOf(rules);
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    private static ReplacingIgmRules compile(String businessProcess, ReplacingRulesFormat format, String rules) {
+        if (format != ReplacingRulesFormat.TABLE) {
+            throw new IllegalArgumentException("Replacing rules of business process " + businessProcess + " in format " + format + " not accepted");
+        }
+        ReplacingIgmRules compiled = ReplacingIgmRuleTable.fromJson(rules);
+        for (String timestamp : VALIDATION_TIMESTAMPS) {
+            List<ReplacingDate> replacingDates = compiled.getReplacingDates(timestamp, null, businessProcess);
+            if (replacingDates.isEmpty()) {
+                throw new IllegalArgumentException("No replacing date for " + timestamp);
+            }
+            // the candidates must be parsable
+            replacingDates.forEach(ReplacingDate::getDateTime);
+        }
+        return compiled;
+    }
+
+    private static ReplacingRules toReplacingRules(ReplacingRulesEntity entity) {
+        return new ReplacingRules(entity.getBusinessProcess(), ReplacingRulesFormat.valueOf(entity.getFormat()),
+                entity.getRules(), entity.getUpdateDate());
+    }
+}
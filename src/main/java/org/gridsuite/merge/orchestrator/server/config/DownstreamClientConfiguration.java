@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.config;
+
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client shared by the clients of the downstream services : a JDK client multiplexing its calls over
+ * HTTP/2 connections when the services support it, and keeping its HTTP/1.1 connections alive otherwise.
+ * The calls to each service go through their own bulkhead, and the calls to the computation services through their
+ * own circuit breaker and a retry policy shared by all the services.
+ */
+@Configuration
+public class DownstreamClientConfiguration {
+
+    private static final String BULKHEADS_PREFIX = "merge-orchestrator.http-client.bulkheads.";
+
+    private static final String CIRCUIT_BREAKERS_PREFIX = "merge-orchestrator.http-client.circuit-breakers.";
+
+    @Bean
+    public HttpClient downstreamHttpClient(@Value("${merge-orchestrator.http-client.http2:true}") boolean http2,
+                                           @Value("${merge-orchestrator.http-client.connect-timeout-ms:5000}") long connectTimeoutMillis,
+                                           @Value("${merge-orchestrator.http-client.threads:8}") int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("downstream-http-");
+        threadFactory.setDaemon(true);
+        return HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newFixedThreadPool(threads, threadFactory))
+                .build();
+    }
+
+    /**
+     * Applied to the rest templates built from the auto-configured builder
+     */
+    @Bean
+    public RestTemplateCustomizer downstreamRequestFactoryCustomizer(HttpClient downstreamHttpClient,
+                                                                     @Value("${merge-orchestrator.http-client.read-timeout-ms:600000}") long readTimeoutMillis) {
+        return restTemplate -> {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(downstreamHttpClient);
+            requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+            restTemplate.setRequestFactory(requestFactory);
+        };
+    }
+
+    @Bean
+    public Bulkheads bulkheads(Environment environment) {
+        return new Bulkheads(environment);
+    }
+
+    @Bean
+    public CircuitBreakers circuitBreakers(Environment environment) {
+        return new CircuitBreakers(environment);
+    }
+
+    @Bean
+    public RetryPolicy downstreamRetryPolicy(@Value("${merge-orchestrator.http-client.retry.max-attempts:4}") int maxAttempts,
+                                             @Value("${merge-orchestrator.http-client.retry.initial-backoff-ms:500}") long initialBackoffMillis,
+                                             @Value("${merge-orchestrator.http-client.retry.max-backoff-ms:10000}") long maxBackoffMillis,
+                                             @Value("${merge-orchestrator.http-client.retry.budget-ratio:0.2}") double budgetRatio,
+                                             @Value("${merge-orchestrator.http-client.retry.budget-max-retries:50}") double budgetMaxRetries) {
+        return new RetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis, budgetRatio, budgetMaxRetries);
+    }
+
+    /**
+     * Bulkheads of the downstream services by name, configured by the merge-orchestrator.http-client.bulkheads.{name}.* properties
+     */
+    public static class Bulkheads {
+        private final Environment environment;
+
+        private final Map<String, Bulkhead> bulkheadsByName = new ConcurrentHashMap<>();
+
+        public Bulkheads(Environment environment) {
+            this.environment = environment;
+        }
+
+        public Bulkhead get(String name) {
+            return bulkheadsByName.computeIfAbsent(name, n -> new Bulkhead(n,
+                    environment.getProperty(BULKHEADS_PREFIX + n + ".max-concurrent-calls", Integer.class, Bulkhead.DEFAULT_MAX_CONCURRENT_CALLS),
+                    environment.getProperty(BULKHEADS_PREFIX + n + ".max-queued-calls", Integer.class, Bulkhead.DEFAULT_MAX_QUEUED_CALLS),
+                    environment.getProperty(BULKHEADS_PREFIX + n + ".max-wait-ms", Long.class, Bulkhead.DEFAULT_MAX_WAIT_MILLIS)));
+        }
+
+        public void shutdown() {
+            bulkheadsByName.values().forEach(Bulkhead::shutdown);
+        }
+    }
+
+    /**
+     * Circuit breakers of the downstream services by name, configured by the merge-orchestrator.http-client.circuit-breakers.{name}.* properties
+     */
+    public static class CircuitBreakers {
+        private final Environment environment;
+
+        private final Map<String, CircuitBreaker> circuitBreakersByName = new ConcurrentHashMap<>();
+
+        public CircuitBreakers(Environment environment) {
+            this.environment = environment;
+        }
+
+        public CircuitBreaker get(String name) {
+            return circuitBreakersByName.computeIfAbsent(name, n -> new CircuitBreaker(n,
+                    environment.getProperty(CIRCUIT_BREAKERS_PREFIX + n + ".failure-threshold", Integer.class, CircuitBreaker.DEFAULT_FAILURE_THRESHOLD),
+                    Duration.ofMillis(environment.getProperty(CIRCUIT_BREAKERS_PREFIX + n + ".open-duration-ms", Long.class, CircuitBreaker.DEFAULT_OPEN_DURATION_MILLIS)),
+                    Clock.systemUTC()));
+        }
+    }
+}
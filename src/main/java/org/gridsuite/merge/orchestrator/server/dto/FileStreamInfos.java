@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * A file whose content is written on demand to an output stream
+ */
+@AllArgsConstructor
+@Getter
+public class FileStreamInfos {
+
+    private String name;
+
+    private StreamingResponseBody data;
+
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@ToString
+@Schema(description = "Merge or IGM status change, as sent to the broker")
+public class MergeNotification {
+
+    UUID processUuid;
+
+    String businessProcess;
+
+    @Schema(description = "Merge date, null for process errors")
+    ZonedDateTime date;
+
+    @Schema(description = "IGM TSO, null for merge status changes")
+    String tso;
+
+    String status;
+
+    String error;
+}
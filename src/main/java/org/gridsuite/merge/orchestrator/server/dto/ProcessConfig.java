@@ -43,6 +43,14 @@ public class ProcessConfig {
 
     private BoundaryInfo tpBoundary;
 
+    @Schema(description = "Gate closure, in minutes before the merge date : the missing or invalid IGMs are then replaced automatically. No automatic replacement if not set")
+    private Integer gateClosureOffsetMinutes;
+
+    public ProcessConfig(UUID processUuid, String process, String businessProcess, List<String> tsos, boolean runBalancesAdjustment,
+                         boolean useLastBoundarySet, BoundaryInfo eqBoundary, BoundaryInfo tpBoundary) {
+        this(processUuid, process, businessProcess, tsos, runBalancesAdjustment, useLastBoundarySet, eqBoundary, tpBoundary, null);
+    }
+
     private boolean isMatching(String tso) {
         return this.getTsos().stream().anyMatch(ts -> ts.equals(tso));
     }
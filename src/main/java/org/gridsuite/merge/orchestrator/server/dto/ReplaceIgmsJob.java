@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Replacement of the missing or invalid IGMs of a merge, run in background")
+public class ReplaceIgmsJob {
+
+    private UUID id;
+
+    private UUID processUuid;
+
+    private ZonedDateTime date;
+
+    private ReplaceIgmsJobStatus status;
+
+    @Schema(description = "Replacing IGMs by TSO, once succeeded")
+    private Map<String, IgmReplacingInfo> replacingIgms;
+
+    @Schema(description = "Error message, once failed")
+    private String error;
+}
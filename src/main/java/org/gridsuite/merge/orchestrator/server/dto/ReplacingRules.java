@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Replacement rules of the missing or invalid IGMs of the merges of a business process")
+public class ReplacingRules {
+
+    private String businessProcess;
+
+    private ReplacingRulesFormat format;
+
+    @Schema(description = "Groovy script or JSON table, depending on the format")
+    private String rules;
+
+    @Schema(description = "Last update date, set by the server")
+    private LocalDateTime updateDate;
+}
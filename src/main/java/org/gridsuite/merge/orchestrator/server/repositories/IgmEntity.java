@@ -13,6 +13,7 @@ import lombok.ToString;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -24,7 +25,8 @@ import java.util.UUID;
 @Getter
 @Setter
 @ToString
-@Table(name = "merge_igm")
+@Table(name = "merge_igm", indexes = {@Index(name = "merge_igm_network_uuid_idx", columnList = "network_uuid"),
+                                     @Index(name = "merge_igm_next_import_retry_idx", columnList = "next_import_retry")})
 public class IgmEntity {
 
     @EmbeddedId
@@ -51,6 +53,13 @@ public class IgmEntity {
     @Column(name = "tpBoundary")
     private String tpBoundary;
 
+    // failed imports retried later, the time of the next retry being pushed back while it runs
+    @Column(name = "importAttempts", nullable = false)
+    private int importAttempts;
+
+    @Column(name = "nextImportRetry")
+    private LocalDateTime nextImportRetry;
+
     public IgmEntity() {
     }
 
@@ -6,11 +6,15 @@
  */
 package org.gridsuite.merge.orchestrator.server.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,4 +33,38 @@ public interface IgmRepository extends JpaRepository<IgmEntity, IgmEntityKey> {
     void deleteByKeyProcessUuid(UUID processUuid);
 
     Optional<IgmEntity> findByKeyProcessUuidAndKeyDateAndKeyTso(UUID processUuid, LocalDateTime date, String tso);
+
+    boolean existsByNetworkUuid(UUID networkUuid);
+
+    List<IgmEntity> findByKeyProcessUuidInAndKeyDateInAndKeyTsoIn(Collection<UUID> processUuids, Collection<LocalDateTime> dates, Collection<String> tsos);
+
+    List<IgmEntity> findByKeyProcessUuidAndKeyDateBetweenOrderByKeyDateAscKeyTsoAsc(UUID processUuid, LocalDateTime minDate, LocalDateTime maxDate);
+
+    interface IgmStatusCount {
+        LocalDateTime getDate();
+
+        String getStatus();
+
+        long getCount();
+    }
+
+    @Query(value = "SELECT igm.key.date AS date, igm.status AS status, COUNT(igm) AS count FROM IgmEntity igm WHERE igm.key.processUuid = :processUuid AND igm.key.date >= :minDate AND igm.key.date <= :maxDate GROUP BY igm.key.date, igm.status")
+    List<IgmStatusCount> countStatusesByProcessUuidAndInterval(UUID processUuid, LocalDateTime minDate, LocalDateTime maxDate);
+
+    List<IgmEntity> findByNextImportRetryLessThanEqualOrderByNextImportRetry(LocalDateTime now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE IgmEntity igm SET igm.importAttempts = :attempts, igm.nextImportRetry = :nextRetry, igm.caseUuid = :caseUuid " +
+            "WHERE igm.key.processUuid = :processUuid AND igm.key.date = :date AND igm.key.tso = :tso")
+    int scheduleImportRetry(UUID processUuid, LocalDateTime date, String tso, UUID caseUuid, int attempts, LocalDateTime nextRetry);
+
+    /**
+     * Claims a due retry by pushing back its time, so that it is run by a single instance
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE IgmEntity igm SET igm.nextImportRetry = :lease " +
+            "WHERE igm.key.processUuid = :processUuid AND igm.key.date = :date AND igm.key.tso = :tso AND igm.nextImportRetry = :due")
+    int claimImportRetry(UUID processUuid, LocalDateTime date, String tso, LocalDateTime due, LocalDateTime lease);
 }
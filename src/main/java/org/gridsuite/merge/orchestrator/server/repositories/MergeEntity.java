@@ -36,6 +36,10 @@ public class MergeEntity {
     @Column(name = "report")
     private UUID reportUUID;
 
+    // set once the missing or invalid IGMs have been replaced at the gate closure : only written by closeGate once inserted
+    @Column(name = "gate_closed", nullable = false, updatable = false)
+    private boolean gateClosed;
+
     public MergeEntity() {
     }
 
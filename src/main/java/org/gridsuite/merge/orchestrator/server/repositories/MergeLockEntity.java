@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lease on the computation of a merge, shared by all the merge orchestrator instances
+ */
+@Entity
+@Getter
+@ToString
+@Table(name = "merge_lock")
+public class MergeLockEntity extends AbstractManuallyAssignedIdentifierEntity<MergeEntityKey> {
+
+    @EmbeddedId
+    private MergeEntityKey key;
+
+    @Column(name = "lock_owner")
+    private UUID owner;
+
+    @Column(name = "expiration")
+    private LocalDateTime expiration;
+
+    public MergeLockEntity() {
+    }
+
+    public MergeLockEntity(MergeEntityKey key, UUID owner, LocalDateTime expiration) {
+        this.key = key;
+        this.owner = owner;
+        this.expiration = expiration;
+    }
+
+    @Override
+    public MergeEntityKey getId() {
+        return key;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface MergeLockRepository extends JpaRepository<MergeLockEntity, MergeEntityKey> {
+
+    @Modifying
+    @Query(value = "UPDATE MergeLockEntity l SET l.owner = :owner, l.expiration = :expiration " +
+            "WHERE l.key.processUuid = :processUuid AND l.key.date = :date AND l.expiration < :now")
+    int acquireExpired(UUID processUuid, LocalDateTime date, UUID owner, LocalDateTime expiration, LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE MergeLockEntity l SET l.expiration = :expiration " +
+            "WHERE l.key.processUuid = :processUuid AND l.key.date = :date AND l.owner = :owner")
+    int renew(UUID processUuid, LocalDateTime date, UUID owner, LocalDateTime expiration);
+
+    @Modifying
+    @Query(value = "DELETE FROM MergeLockEntity l WHERE l.key.processUuid = :processUuid AND l.key.date = :date AND l.owner = :owner")
+    int release(UUID processUuid, LocalDateTime date, UUID owner);
+}
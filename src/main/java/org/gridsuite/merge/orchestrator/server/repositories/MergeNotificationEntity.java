@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Merge notification waiting to be sent to the broker, written in the transaction of the change it notifies
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@ToString
+@Table(name = "merge_notification_outbox")
+public class MergeNotificationEntity {
+
+    // sequence rather than identity, so that the notifications are inserted in JDBC batches
+    // ids allocated by blocks to each instance : only increasing with the writing order of a single instance
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "merge_notification_outbox_seq")
+    @SequenceGenerator(name = "merge_notification_outbox_seq", sequenceName = "merge_notification_outbox_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "process_uuid")
+    private UUID processUuid;
+
+    @Column(name = "business_process")
+    private String businessProcess;
+
+    @Column(name = "date")
+    private String date;
+
+    @Column(name = "tso")
+    private String tso;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "error")
+    private String error;
+
+    // set for the progress of a replace IGMs job only
+    @Column(name = "job_uuid")
+    private UUID jobUuid;
+
+    // set while the notification is relayed by an instance, relayed again by any instance once expired
+    @Setter
+    @Column(name = "lease_expiration")
+    private LocalDateTime leaseExpiration;
+
+    public MergeNotificationEntity(UUID processUuid, String businessProcess, String date, String tso, String status, String error) {
+        this(processUuid, businessProcess, date, tso, status, error, null);
+    }
+
+    public MergeNotificationEntity(UUID processUuid, String businessProcess, String date, String tso, String status, String error, UUID jobUuid) {
+        this.processUuid = processUuid;
+        this.businessProcess = businessProcess;
+        this.date = date;
+        this.tso = tso;
+        this.status = status;
+        this.error = error;
+        this.jobUuid = jobUuid;
+    }
+}
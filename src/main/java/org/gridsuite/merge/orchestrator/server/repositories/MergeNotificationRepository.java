@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MergeNotificationRepository extends JpaRepository<MergeNotificationEntity, Long> {
+
+    // locked until leased, so that the notifications are leased by a single instance at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<MergeNotificationEntity> findByOrderById(Limit limit);
+
+    @Modifying
+    @Query(value = "UPDATE MergeNotificationEntity n SET n.leaseExpiration = :leaseExpiration WHERE n.id IN :ids")
+    int lease(List<Long> ids, LocalDateTime leaseExpiration);
+}
@@ -6,11 +6,14 @@
  */
 package org.gridsuite.merge.orchestrator.server.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,9 +48,22 @@ public interface MergeRepository extends JpaRepository<MergeEntity, MergeEntityK
 
     Optional<MergeEntity> findByKeyProcessUuidAndKeyDate(UUID processUuid, LocalDateTime date);
 
+    List<MergeEntity> findByKeyProcessUuidInAndKeyDateIn(Collection<UUID> processUuids, Collection<LocalDateTime> dates);
+
+    List<MergeEntity> findByKeyProcessUuidOrderByKeyDate(UUID processUuid, Limit limit);
+
+    List<MergeEntity> findByKeyProcessUuidAndKeyDateAfterOrderByKeyDate(UUID processUuid, LocalDateTime date, Limit limit);
+
     @Query(value = "SELECT m.key.processUuid AS processUuid, m.key.date AS date, m.status AS status, igm.key.tso AS tso, igm.status AS igmStatus, igm.replacingDate AS replacingDate, igm.replacingBusinessProcess AS replacingBusinessProcess from MergeEntity m JOIN IgmEntity igm ON m.key.processUuid = igm.key.processUuid AND m.key.date = igm.key.date WHERE m.key.processUuid = :processUuid")
     List<MergeIgm> findMergeWithIgmsByProcessUuid(UUID processUuid);
 
     @Query(value = "SELECT m.key.processUuid AS processUuid, m.key.date AS date, m.status AS status, igm.key.tso AS tso, igm.status AS igmStatus, igm.replacingDate AS replacingDate, igm.replacingBusinessProcess AS replacingBusinessProcess from MergeEntity m JOIN IgmEntity igm ON m.key.processUuid = igm.key.processUuid AND m.key.date = igm.key.date WHERE m.key.processUuid = :processUuid and m.key.date >= :minDate and m.key.date <= :maxDate")
     List<MergeIgm> findMergeWithIgmsByProcessUuidAndInterval(UUID processUuid, LocalDateTime minDate, LocalDateTime maxDate);
+
+    @Query(value = "SELECT m.key.date from MergeEntity m WHERE m.key.processUuid = :processUuid and m.key.date >= :minDate and m.key.date <= :maxDate and m.gateClosed = false")
+    List<LocalDateTime> findOpenGateDates(UUID processUuid, LocalDateTime minDate, LocalDateTime maxDate);
+
+    @Modifying
+    @Query(value = "UPDATE MergeEntity m SET m.gateClosed = true WHERE m.key.processUuid = :processUuid AND m.key.date = :date AND m.gateClosed = false")
+    int closeGate(UUID processUuid, LocalDateTime date);
 }
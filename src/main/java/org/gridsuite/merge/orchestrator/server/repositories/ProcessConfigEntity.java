@@ -13,6 +13,7 @@ import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
@@ -29,6 +30,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Getter
 @Entity
+@EntityListeners(ProcessConfigEntityListener.class)
 @Table(name = "configs")
 public class ProcessConfigEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
 
@@ -61,8 +63,11 @@ public class ProcessConfigEntity extends AbstractManuallyAssignedIdentifierEntit
     @JoinColumn(foreignKey = @ForeignKey(name = "tpBoundary_id_fk_constraint"))
     BoundaryEntity tpBoundary;
 
+    @Column(name = "gateClosureOffsetMinutes")
+    private Integer gateClosureOffsetMinutes;
+
     public ProcessConfigEntity(UUID processUuid, String process, String businessProcess, List<String> tsos, boolean runBalancesAdjustment,
-                               boolean useLastBoundarySet, BoundaryEntity eqBoundary, BoundaryEntity tpBoundary) {
+                               boolean useLastBoundarySet, BoundaryEntity eqBoundary, BoundaryEntity tpBoundary, Integer gateClosureOffsetMinutes) {
         this.processUuid = processUuid;
         this.process = process;
         this.businessProcess = businessProcess;
@@ -71,6 +76,7 @@ public class ProcessConfigEntity extends AbstractManuallyAssignedIdentifierEntit
         this.useLastBoundarySet = useLastBoundarySet;
         this.eqBoundary = eqBoundary;
         this.tpBoundary = tpBoundary;
+        this.gateClosureOffsetMinutes = gateClosureOffsetMinutes;
     }
 
     @Override
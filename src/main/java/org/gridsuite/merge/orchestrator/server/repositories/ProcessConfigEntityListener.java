@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Notifies the process config changes written without the config service, which notifies its own changes
+ */
+public class ProcessConfigEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // instantiated by Hibernate through the Spring bean container
+    public ProcessConfigEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(ProcessConfigEntity entity) {
+        eventPublisher.publishEvent(new ProcessConfigChangedEvent(entity.getProcessUuid()));
+    }
+}
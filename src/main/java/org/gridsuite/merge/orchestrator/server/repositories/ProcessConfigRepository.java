@@ -6,9 +6,13 @@
  */
 package org.gridsuite.merge.orchestrator.server.repositories;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -16,4 +20,12 @@ import java.util.UUID;
  */
 @Repository
 public interface ProcessConfigRepository extends JpaRepository<ProcessConfigEntity, UUID> {
+
+    // tsos and boundaries fetched in the same query
+    @EntityGraph(attributePaths = {"tsos", "eqBoundary", "tpBoundary"})
+    @Query("SELECT c FROM ProcessConfigEntity c")
+    List<ProcessConfigEntity> findAllWithTsosAndBoundaries();
+
+    @EntityGraph(attributePaths = {"tsos", "eqBoundary", "tpBoundary"})
+    Optional<ProcessConfigEntity> findWithTsosAndBoundariesByProcessUuid(UUID processUuid);
 }
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Replacement of the IGMs of a merge, run in background
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@Table(name = "replace_igms_job")
+public class ReplaceIgmsJobEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "process_uuid")
+    private UUID processUuid;
+
+    @Column(name = "date")
+    private LocalDateTime date;
+
+    @Column(name = "status")
+    private String status;
+
+    // replacing IGMs by TSO, in JSON
+    @Column(name = "result")
+    private String result;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+
+    @Column(name = "end_date")
+    private LocalDateTime endDate;
+
+    // until when the job is run by an instance, run again by any instance once expired : only written by the lease queries once inserted
+    @Column(name = "lease_expiration", updatable = false)
+    private LocalDateTime leaseExpiration;
+
+    public ReplaceIgmsJobEntity() {
+    }
+
+    public ReplaceIgmsJobEntity(UUID id, UUID processUuid, LocalDateTime date, String status, LocalDateTime creationDate) {
+        this.id = id;
+        this.processUuid = processUuid;
+        this.date = date;
+        this.status = status;
+        this.creationDate = creationDate;
+    }
+}
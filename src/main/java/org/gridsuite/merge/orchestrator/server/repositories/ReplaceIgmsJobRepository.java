@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReplaceIgmsJobRepository extends JpaRepository<ReplaceIgmsJobEntity, UUID> {
+
+    List<ReplaceIgmsJobEntity> findByStatusInAndLeaseExpirationLessThan(Collection<String> statuses, LocalDateTime now);
+
+    // renewed, claimed or released only if still held with the current lease
+    @Modifying
+    @Query(value = "UPDATE ReplaceIgmsJobEntity j SET j.leaseExpiration = :lease WHERE j.id = :id AND j.leaseExpiration = :currentLease")
+    int replaceLease(UUID id, LocalDateTime currentLease, LocalDateTime lease);
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.repositories;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Replacement rules of the IGMs of a business process, overriding the default ones
+ */
+@Entity
+@Getter
+@Setter
+@ToString(exclude = "rules")
+@Table(name = "replacing_rules")
+public class ReplacingRulesEntity extends AbstractManuallyAssignedIdentifierEntity<String> {
+
+    @Id
+    @Column(name = "business_process")
+    private String businessProcess;
+
+    @Column(name = "format")
+    private String format;
+
+    @Column(name = "rules")
+    private String rules;
+
+    // identifies the version of the rules, to recompile only the changed ones
+    @Column(name = "update_date")
+    private LocalDateTime updateDate;
+
+    public ReplacingRulesEntity() {
+    }
+
+    public ReplacingRulesEntity(String businessProcess) {
+        this.businessProcess = businessProcess;
+    }
+
+    @Override
+    public String getId() {
+        return businessProcess;
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.utils;
+
+import com.powsybl.commons.PowsyblException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits the concurrent calls to a downstream service, so that a slow service only holds the threads of its own
+ * calls. Each call, synchronous or asynchronous, holds one of the permits of this bulkhead while running, the calls
+ * it makes itself through this bulkhead being part of it. A synchronous call waits a bounded time for a permit, an
+ * asynchronous call is queued up to a bound without holding any thread until a permit is handed over to it, a call
+ * above these bounds being failed right away.
+ * A released permit goes to the synchronous calls waiting for it first, in their arrival order, then to the queued
+ * asynchronous calls : the synchronous calls hold a thread and give up after their wait, whereas the queued calls
+ * hold nothing and do not expire.
+ */
+public class Bulkhead {
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 16;
+    public static final int DEFAULT_MAX_QUEUED_CALLS = 256;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 60000;
+
+    private final String name;
+
+    private final Semaphore permits;
+
+    private final long maxWaitMillis;
+
+    private final int maxQueuedCalls;
+
+    // asynchronous calls waiting for a permit
+    private final Queue<Runnable> queuedCalls = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queuedCallsCount = new AtomicInteger();
+
+    // runs the asynchronous calls once they hold a permit, so never more than the permits
+    private final ThreadPoolExecutor executor;
+
+    private final ThreadLocal<Boolean> holdingPermit = ThreadLocal.withInitial(() -> false);
+
+    public Bulkhead(String name) {
+        this(name, DEFAULT_MAX_CONCURRENT_CALLS, DEFAULT_MAX_QUEUED_CALLS, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    public Bulkhead(String name, int maxConcurrentCalls, int maxQueuedCalls, long maxWaitMillis) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxQueuedCalls = maxQueuedCalls;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-client-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (Boolean.TRUE.equals(holdingPermit.get())) {
+            // made by a call already holding a permit
+            return call.get();
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                // a permit released while waiting left to this call
+                dispatchQueuedCalls();
+                throw new PowsyblException("Too many concurrent calls to " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while waiting to call " + name);
+        }
+        return callWithPermit(call);
+    }
+
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call on the threads of this bulkhead once it holds a permit
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable queuedCall = () -> {
+            try {
+                future.complete(callWithPermit(call));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        };
+        // not ahead of the calls already queued
+        if (queuedCalls.isEmpty() && tryAcquireNow()) {
+            executor.execute(queuedCall);
+            return future;
+        }
+        if (queuedCallsCount.incrementAndGet() > maxQueuedCalls) {
+            queuedCallsCount.decrementAndGet();
+            return CompletableFuture.failedFuture(new PowsyblException("Too many pending calls to " + name));
+        }
+        queuedCalls.add(queuedCall);
+        // a permit released while queuing
+        dispatchQueuedCalls();
+        return future;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T callWithPermit(Supplier<T> call) {
+        holdingPermit.set(true);
+        try {
+            return call.get();
+        } finally {
+            holdingPermit.set(false);
+            releasePermit();
+        }
+    }
+
+    private void releasePermit() {
+        permits.release();
+        dispatchQueuedCalls();
+    }
+
+    // hands over the permits not taken by the waiting synchronous calls to the oldest queued calls
+    private void dispatchQueuedCalls() {
+        while (!queuedCalls.isEmpty() && tryAcquireNow()) {
+            Runnable queuedCall = pollQueuedCall();
+            if (queuedCall != null) {
+                executor.execute(queuedCall);
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    // unlike tryAcquire(), never takes a permit from a waiting synchronous call
+    private boolean tryAcquireNow() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Runnable pollQueuedCall() {
+        Runnable queuedCall = queuedCalls.poll();
+        if (queuedCall != null) {
+            queuedCallsCount.decrementAndGet();
+        }
+        return queuedCall;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.utils;
+
+import com.powsybl.commons.PowsyblException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Fails the calls to a downstream service right away once it has failed transiently a number of times in a row,
+ * then lets a single trial call through after a while : the service is considered back if this call succeeds.
+ * Permanent failures, such as rejected requests, tell nothing about the service health and are not counted.
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 30000;
+
+    public static class OpenException extends PowsyblException {
+        public OpenException(String name) {
+            super("Circuit breaker of " + name + " open");
+        }
+    }
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private Instant openedAt;
+
+    public CircuitBreaker(String name) {
+        this(name, DEFAULT_FAILURE_THRESHOLD, Duration.ofMillis(DEFAULT_OPEN_DURATION_MILLIS), Clock.systemUTC());
+    }
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            onFailure(DownstreamFailures.isTransient(e));
+            throw e;
+        }
+        onSuccess();
+        return result;
+    }
+
+    private synchronized void acquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            // trial call
+            state = State.HALF_OPEN;
+            return;
+        }
+        if (state != State.CLOSED) {
+            throw new OpenException(name);
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.info("Circuit breaker of {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void onFailure(boolean transientFailure) {
+        if (!transientFailure) {
+            // the service answered
+            onSuccess();
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                LOGGER.warn("Circuit breaker of {} open after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+}
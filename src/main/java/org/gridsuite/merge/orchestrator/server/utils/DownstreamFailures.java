@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+
+/**
+ * Classification of the failures of the downstream services calls
+ */
+public final class DownstreamFailures {
+
+    private DownstreamFailures() {
+    }
+
+    /**
+     * Whether a failure, or one of its causes, may not happen again on a later call : I/O errors and timeouts,
+     * server errors, throttling and open circuit breakers. Requests rejected by a service are permanent failures.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() != t ? t.getCause() : null) {
+            if (t instanceof ResourceAccessException
+                    || t instanceof HttpServerErrorException
+                    || t instanceof CircuitBreaker.OpenException
+                    || t instanceof HttpStatusCodeException e && e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return true;
+            }
+            if (t instanceof HttpStatusCodeException) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a failure, or one of its causes, shows the call was not processed by the service, so that a non idempotent
+     * call can be retried : connection failures, unavailable service and throttling. A read timeout or another server
+     * error may happen once the call processed.
+     */
+    public static boolean isUnprocessed(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() != t ? t.getCause() : null) {
+            if (t instanceof ConnectException
+                    || t instanceof HttpConnectTimeoutException
+                    || t instanceof HttpStatusCodeException e && (e.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                                                                  || e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * Calls of the downstream services, the transient failures being retried and the calls failing fast while the
+ * server is down
+ */
+public final class ResilientCalls {
+
+    private ResilientCalls() {
+    }
+
+    public static <T> T call(String name, RetryPolicy retryPolicy, Bulkhead bulkhead, CircuitBreaker circuitBreaker, Supplier<T> call) {
+        return retryPolicy.call(name, () -> bulkhead.call(() -> circuitBreaker.call(call)));
+    }
+
+    /**
+     * Non idempotent calls, only retried when not processed by the server : a retried call could create again
+     * what the failed one created
+     */
+    public static <T> T callNonIdempotent(String name, RetryPolicy retryPolicy, Bulkhead bulkhead, CircuitBreaker circuitBreaker, Supplier<T> call) {
+        return retryPolicy.call(name, () -> bulkhead.call(() -> circuitBreaker.call(call)), DownstreamFailures::isUnprocessed);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server.utils;
+
+import com.powsybl.commons.PowsyblException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries the calls failing transiently, with exponentially growing and jittered delays. The retries of all the
+ * calls sharing a policy are limited by a budget, earned as a fraction of the calls made : during an outage, the
+ * retries cannot multiply the load of the downstream services.
+ */
+public class RetryPolicy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+
+    public static final RetryPolicy NO_RETRY = new RetryPolicy(1, 0, 0, 0, 0);
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final double retryRatio;
+
+    private final double maxRetryTokens;
+
+    private double retryTokens;
+
+    public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, double retryRatio, double maxRetryTokens) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryRatio = retryRatio;
+        this.maxRetryTokens = maxRetryTokens;
+        this.retryTokens = maxRetryTokens;
+    }
+
+    public <T> T call(String name, Supplier<T> call) {
+        return call(name, call, DownstreamFailures::isTransient);
+    }
+
+    /**
+     * Retries the call failing with a failure accepted by the given predicate
+     */
+    public <T> T call(String name, Supplier<T> call, Predicate<Throwable> retryable) {
+        earnRetry();
+        for (int attempt = 1;; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                // an open circuit breaker will not be closed by the time of a retry
+                if (attempt >= maxAttempts || e instanceof CircuitBreaker.OpenException || !retryable.test(e)) {
+                    throw e;
+                }
+                if (!spendRetry()) {
+                    LOGGER.warn("Retry budget exhausted, call to {} not retried", name);
+                    throw e;
+                }
+                long backoffMillis = backoffMillis(attempt);
+                LOGGER.warn("Call to {} failed ({}), attempt {} in {} ms", name, e.getMessage(), attempt + 1, backoffMillis);
+                sleep(name, backoffMillis);
+            }
+        }
+    }
+
+    long backoffMillis(int attempt) {
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        // full jitter on the upper half, so that the retries of concurrent calls are spread
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private synchronized void earnRetry() {
+        retryTokens = Math.min(maxRetryTokens, retryTokens + retryRatio);
+    }
+
+    private synchronized boolean spendRetry() {
+        if (retryTokens < 1) {
+            return false;
+        }
+        retryTokens--;
+        return true;
+    }
+
+    private static void sleep(String name, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while retrying a call to " + name);
+        }
+    }
+}
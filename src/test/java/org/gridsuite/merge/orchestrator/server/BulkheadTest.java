@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import com.powsybl.commons.PowsyblException;
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class BulkheadTest {
+
+    private Bulkhead bulkhead;
+
+    @Before
+    public void setUp() {
+        bulkhead = new Bulkhead("test-server", 1, 1, 100);
+    }
+
+    @After
+    public void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    public void test() throws InterruptedException {
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slowCall = bulkhead.supplyAsync(() -> bulkhead.call(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // the only slot being taken, a synchronous call gives up after its wait
+        assertTrue(assertThrows(PowsyblException.class, () -> bulkhead.call(() -> "ok")).getMessage().contains("Too many concurrent calls to test-server"));
+
+        // one asynchronous call queued, the next one failed right away
+        CompletableFuture<String> queuedCall = bulkhead.supplyAsync(() -> bulkhead.call(() -> "queued"));
+        CompletableFuture<String> rejectedCall = bulkhead.supplyAsync(() -> bulkhead.call(() -> "rejected"));
+        assertTrue(assertThrows(CompletionException.class, rejectedCall::join).getCause() instanceof PowsyblException);
+        assertFalse(queuedCall.isDone());
+
+        release.countDown();
+        assertEquals("slow", slowCall.join());
+        assertEquals("queued", queuedCall.join());
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+    }
+
+    @Test
+    public void testQueuedCallHoldsNoPermitUntilHandedOver() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // queued longer than the synchronous calls wait, then run with the permit of the slow call
+        CompletableFuture<String> queuedCall = bulkhead.supplyAsync(() -> bulkhead.call(() -> bulkhead.call(() -> "nested")));
+        Thread.sleep(300);
+        assertFalse(queuedCall.isDone());
+        release.countDown();
+        assertEquals("slow", slowCall.join());
+        assertEquals("nested", queuedCall.join());
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+    }
+
+    @Test
+    public void testWaitingCallServedBeforeQueuedCalls() throws InterruptedException {
+        Bulkhead waitingBulkhead = new Bulkhead("test-server", 1, 1, 10000);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() -> waitingBulkhead.call(() -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // an asynchronous call queued, then a synchronous one waiting
+            Queue<String> calls = new ConcurrentLinkedQueue<>();
+            CompletableFuture<Boolean> queuedCall = waitingBulkhead.supplyAsync(() -> calls.add("queued"));
+            CompletableFuture<Boolean> waitingCall = CompletableFuture.supplyAsync(() -> waitingBulkhead.call(() -> calls.add("waiting")));
+            Thread.sleep(300);
+
+            // the permit of the slow call taken by the waiting call, not failed after its wait
+            release.countDown();
+            assertEquals("slow", slowCall.join());
+            assertTrue(waitingCall.join());
+            assertTrue(queuedCall.join());
+            assertEquals(List.of("waiting", "queued"), List.copyOf(calls));
+        } finally {
+            waitingBulkhead.shutdown();
+        }
+    }
+}
@@ -16,6 +16,8 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
@@ -119,5 +121,17 @@ public class CaseFetcherServiceTest {
         assertEquals("fileContent", new String(fileInfos.get(0).getData(), StandardCharsets.UTF_8));
         assertEquals(caseUuid2.toString(), fileInfos.get(1).getName());
         assertEquals("fileContent", new String(fileInfos.get(1).getData(), StandardCharsets.UTF_8));
+
+        when(caseServerRest.execute(eq("/v1/cases/{caseUuid}?xiidm=false"),
+            eq(HttpMethod.GET),
+            isNull(),
+            any(ResponseExtractor.class),
+            eq(caseUuid3.toString())))
+            .thenAnswer(invocation -> invocation.getArgument(3, ResponseExtractor.class)
+                .extractData(new MockClientHttpResponse("streamedContent".getBytes(), HttpStatus.OK)));
+
+        List<String> contents = new ArrayList<>();
+        caseFetcherService.getCase(caseUuid3, content -> contents.add(new String(content.readAllBytes(), StandardCharsets.UTF_8)));
+        assertEquals(List.of("streamedContent"), contents);
     }
 }
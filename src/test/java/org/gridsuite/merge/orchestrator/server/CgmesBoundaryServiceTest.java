@@ -6,6 +6,7 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.gridsuite.merge.orchestrator.server.dto.BoundaryContent;
 import org.junit.Before;
 import org.junit.Test;
@@ -17,13 +18,22 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -89,5 +99,89 @@ public class CgmesBoundaryServiceTest {
         res = cgmesBoundaryService.getBoundary("id1");
         assertFalse(res.isPresent());
     }
-}
 
+    @Test
+    public void testBoundariesCache() {
+        Clock clock = mock(Clock.class);
+        Instant now = Instant.parse("2021-03-26T09:30:00Z");
+        when(clock.instant()).thenReturn(now);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // room for two boundaries only
+        CgmesBoundaryService cachingService = new CgmesBoundaryService(cgmesBoundaryServiceRest, 20, Duration.ofSeconds(30), clock, meterRegistry);
+
+        when(cgmesBoundaryServiceRest.exchange(eq("/v1/boundaries/id1"),
+            eq(HttpMethod.GET),
+            any(),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(new ResponseEntity(Map.of("id", "id1", "filename", "name1", "boundary", "boundary1"), new HttpHeaders(), HttpStatus.OK));
+        assertEquals("boundary1", cachingService.getBoundary("id1").orElseThrow().getBoundary());
+        assertEquals("boundary1", cachingService.getBoundary("id1").orElseThrow().getBoundary());
+        verify(cgmesBoundaryServiceRest, times(1)).exchange(eq("/v1/boundaries/id1"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+        HttpHeaders lastHeaders = new HttpHeaders();
+        lastHeaders.setETag("\"last1\"");
+        when(cgmesBoundaryServiceRest.exchange(eq("/v1/boundaries/last"),
+            eq(HttpMethod.GET),
+            any(),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(new ResponseEntity(List.of(
+                Map.of("id", "id2", "filename", "name2", "boundary", "boundary2"),
+                Map.of("id", "id3", "filename", "name3", "boundary", "boundary3")), lastHeaders, HttpStatus.OK));
+        assertEquals(2, cachingService.getLastBoundaries().size());
+        // within ttl, the last boundaries are served from cache
+        assertEquals(2, cachingService.getLastBoundaries().size());
+        verify(cgmesBoundaryServiceRest, times(1)).exchange(eq("/v1/boundaries/last"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+        // after ttl, the last boundaries are revalidated
+        when(clock.instant()).thenReturn(now.plusSeconds(31));
+        when(cgmesBoundaryServiceRest.exchange(eq("/v1/boundaries/last"),
+            eq(HttpMethod.GET),
+            argThat(entity -> List.of("\"last1\"").equals(entity.getHeaders().getIfNoneMatch())),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(new ResponseEntity(null, lastHeaders, HttpStatus.NOT_MODIFIED));
+        List<BoundaryContent> res = cachingService.getLastBoundaries();
+        assertEquals(2, res.size());
+        assertEquals("id2", res.get(0).getId());
+        assertEquals("boundary3", res.get(1).getBoundary());
+
+        // id1 has been evicted to make room for the last boundaries
+        assertEquals("boundary1", cachingService.getBoundary("id1").orElseThrow().getBoundary());
+        verify(cgmesBoundaryServiceRest, times(2)).exchange(eq("/v1/boundaries/id1"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+        assertEquals(3, meterRegistry.get("merge.boundary.cache.requests").tag("result", "hit").counter().count(), 0);
+        assertEquals(3, meterRegistry.get("merge.boundary.cache.requests").tag("result", "miss").counter().count(), 0);
+        assertEquals(18, meterRegistry.get("merge.boundary.cache.size").gauge().value(), 0);
+        assertEquals(2, meterRegistry.get("merge.boundary.cache.entries").gauge().value(), 0);
+    }
+
+    @Test
+    public void testBoundaryCacheHitDuringLastBoundariesRevalidation() throws Exception {
+        CgmesBoundaryService cachingService = new CgmesBoundaryService(cgmesBoundaryServiceRest, 100, Duration.ofSeconds(30), Clock.systemUTC(), null);
+        when(cgmesBoundaryServiceRest.exchange(eq("/v1/boundaries/id1"),
+            eq(HttpMethod.GET),
+            any(),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(new ResponseEntity(Map.of("id", "id1", "filename", "name1", "boundary", "boundary1"), new HttpHeaders(), HttpStatus.OK));
+        assertEquals("boundary1", cachingService.getBoundary("id1").orElseThrow().getBoundary());
+
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        when(cgmesBoundaryServiceRest.exchange(eq("/v1/boundaries/last"),
+            eq(HttpMethod.GET),
+            any(),
+            any(ParameterizedTypeReference.class)))
+            .thenAnswer(invocation -> {
+                fetching.countDown();
+                released.await(10, TimeUnit.SECONDS);
+                return new ResponseEntity(List.of(Map.of("id", "id2", "filename", "name2", "boundary", "boundary2")), new HttpHeaders(), HttpStatus.OK);
+            });
+        CompletableFuture<List<BoundaryContent>> lastBoundaries = CompletableFuture.supplyAsync(cachingService::getLastBoundaries);
+        assertTrue(fetching.await(10, TimeUnit.SECONDS));
+
+        // the boundary server round trip does not block the cached boundaries
+        assertEquals("boundary1", cachingService.getBoundary("id1").orElseThrow().getBoundary());
+
+        released.countDown();
+        assertEquals("id2", lastBoundaries.get(10, TimeUnit.SECONDS).get(0).getId());
+    }
+}
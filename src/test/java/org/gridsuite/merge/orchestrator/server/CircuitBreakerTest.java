@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.gridsuite.merge.orchestrator.server.utils.Bulkhead;
+import org.gridsuite.merge.orchestrator.server.utils.CircuitBreaker;
+import org.gridsuite.merge.orchestrator.server.utils.DownstreamFailures;
+import org.gridsuite.merge.orchestrator.server.utils.ResilientCalls;
+import org.gridsuite.merge.orchestrator.server.utils.RetryPolicy;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2021-03-26T09:30:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+    }
+
+    private static <T> T fail(RuntimeException e) {
+        throw e;
+    }
+
+    private static int failingCalls(RetryPolicy retryPolicy) {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(ResourceAccessException.class, () -> retryPolicy.call("test-server", () -> {
+            calls.incrementAndGet();
+            return fail(new ResourceAccessException("timeout"));
+        }));
+        return calls.get();
+    }
+
+    @Test
+    public void testFailures() {
+        assertTrue(DownstreamFailures.isTransient(new ResourceAccessException("timeout")));
+        assertTrue(DownstreamFailures.isTransient(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertTrue(DownstreamFailures.isTransient(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertTrue(DownstreamFailures.isTransient(new IllegalStateException(new ResourceAccessException("timeout"))));
+        assertFalse(DownstreamFailures.isTransient(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+        assertFalse(DownstreamFailures.isTransient(new IllegalStateException()));
+
+        // failures of the calls not processed by the server
+        assertTrue(DownstreamFailures.isUnprocessed(new ResourceAccessException("refused", new ConnectException())));
+        assertTrue(DownstreamFailures.isUnprocessed(new ResourceAccessException("timeout", new HttpConnectTimeoutException("connect timed out"))));
+        assertTrue(DownstreamFailures.isUnprocessed(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertTrue(DownstreamFailures.isUnprocessed(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertFalse(DownstreamFailures.isUnprocessed(new ResourceAccessException("timeout", new HttpTimeoutException("request timed out"))));
+        assertFalse(DownstreamFailures.isUnprocessed(new HttpServerErrorException(HttpStatus.BAD_GATEWAY)));
+    }
+
+    @Test
+    public void testCircuitBreaker() {
+        MutableClock clock = new MutableClock();
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test-server", 2, Duration.ofSeconds(30), clock);
+
+        // permanent failures not counted
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpClientErrorException.class, () -> circuitBreaker.call(() -> fail(new HttpClientErrorException(HttpStatus.BAD_REQUEST))));
+        }
+        assertFalse(circuitBreaker.isOpen());
+
+        assertThrows(ResourceAccessException.class, () -> circuitBreaker.call(() -> fail(new ResourceAccessException("timeout"))));
+        assertFalse(circuitBreaker.isOpen());
+        assertThrows(ResourceAccessException.class, () -> circuitBreaker.call(() -> fail(new ResourceAccessException("timeout"))));
+        assertTrue(circuitBreaker.isOpen());
+
+        // calls failed right away while open
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(CircuitBreaker.OpenException.class, () -> circuitBreaker.call(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+
+        // failed trial call : open again
+        clock.advance(Duration.ofSeconds(30));
+        assertThrows(ResourceAccessException.class, () -> circuitBreaker.call(() -> fail(new ResourceAccessException("timeout"))));
+        assertThrows(CircuitBreaker.OpenException.class, () -> circuitBreaker.call(calls::incrementAndGet));
+
+        // successful trial call : closed
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(Integer.valueOf(1), circuitBreaker.call(calls::incrementAndGet));
+        assertFalse(circuitBreaker.isOpen());
+        assertEquals(Integer.valueOf(2), circuitBreaker.call(calls::incrementAndGet));
+    }
+
+    @Test
+    public void testRetryPolicy() {
+        RetryPolicy retryPolicy = new RetryPolicy(3, 1, 2, 0.5, 2);
+
+        // transient failures retried
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals(Integer.valueOf(3), retryPolicy.call("test-server", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }
+            return calls.get();
+        }));
+
+        // permanent failures not retried
+        calls.set(0);
+        assertThrows(HttpClientErrorException.class, () -> retryPolicy.call("test-server", () -> {
+            calls.incrementAndGet();
+            return fail(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        }));
+        assertEquals(1, calls.get());
+
+        // initial budget spent : the retries are the ones earned, half a retry per call
+        assertEquals(2, failingCalls(retryPolicy));
+        assertEquals(1, failingCalls(retryPolicy));
+        retryPolicy.call("test-server", () -> null);
+        assertEquals(2, failingCalls(retryPolicy));
+    }
+
+    @Test
+    public void testNonIdempotentCalls() {
+        RetryPolicy retryPolicy = new RetryPolicy(3, 1, 2, 0.5, 10);
+        Bulkhead bulkhead = new Bulkhead("test-server");
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test-server");
+
+        // read timeouts not retried, the call being possibly processed
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(ResourceAccessException.class, () -> ResilientCalls.callNonIdempotent("test-server", retryPolicy, bulkhead, circuitBreaker, () -> {
+            calls.incrementAndGet();
+            return fail(new ResourceAccessException("timeout", new HttpTimeoutException("request timed out")));
+        }));
+        assertEquals(1, calls.get());
+
+        // connection failures retried
+        calls.set(0);
+        assertEquals(Integer.valueOf(2), ResilientCalls.callNonIdempotent("test-server", retryPolicy, bulkhead, circuitBreaker, () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new ResourceAccessException("refused", new ConnectException());
+            }
+            return calls.get();
+        }));
+
+        // read timeouts retried for the other calls
+        calls.set(0);
+        assertEquals(Integer.valueOf(2), ResilientCalls.call("test-server", retryPolicy, bulkhead, circuitBreaker, () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new ResourceAccessException("timeout", new HttpTimeoutException("request timed out"));
+            }
+            return calls.get();
+        }));
+    }
+}
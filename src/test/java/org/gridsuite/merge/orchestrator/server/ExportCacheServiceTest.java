@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.gridsuite.merge.orchestrator.server.dto.BoundaryContent;
+import org.gridsuite.merge.orchestrator.server.dto.FileStreamInfos;
+import org.gridsuite.merge.orchestrator.server.repositories.IgmEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.IgmEntityKey;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeEntity;
+import org.gridsuite.merge.orchestrator.server.repositories.MergeEntityKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class ExportCacheServiceTest {
+
+    private static final UUID PROCESS_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+    private static final LocalDateTime DATE = LocalDateTime.of(2021, 3, 26, 9, 30);
+
+    private ExportCacheService exportCacheService;
+
+    @Before
+    public void setUp() {
+        // room for two exports only
+        exportCacheService = new ExportCacheService("", 10);
+    }
+
+    @After
+    public void tearDown() {
+        exportCacheService.shutdown();
+    }
+
+    private static String read(FileStreamInfos file) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        file.getData().writeTo(baos);
+        return baos.toString(StandardCharsets.UTF_8);
+    }
+
+    private void export(String format, String fingerprint, String content) throws IOException {
+        assertEquals(content, read(exportCacheService.cache(PROCESS_UUID, DATE, format, fingerprint,
+                new FileStreamInfos("merge." + format, outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8))))));
+    }
+
+    @Test
+    public void testFingerprint() {
+        UUID networkUuid = UUID.randomUUID();
+        UUID caseUuid = UUID.randomUUID();
+        List<IgmEntity> igms = List.of(
+                new IgmEntity(new IgmEntityKey(PROCESS_UUID, DATE, "FR"), "VALIDATION_SUCCEED", networkUuid, caseUuid, null, null, null, null),
+                new IgmEntity(new IgmEntityKey(PROCESS_UUID, DATE, "ES"), "VALIDATION_SUCCEED", networkUuid, caseUuid, null, null, null, null));
+        List<BoundaryContent> boundaries = List.of(new BoundaryContent("idEQ", "EQ_boundary.xml", "eq"), new BoundaryContent("idTP", "TP_boundary.xml", "tp"));
+
+        MergeEntity merge = new MergeEntity(new MergeEntityKey(PROCESS_UUID, DATE), "FIRST_LOADFLOW_SUCCEED");
+
+        String fingerprint = ExportCacheService.fingerprint("merge", merge, igms, boundaries);
+        assertEquals(fingerprint, ExportCacheService.fingerprint("merge", merge, List.of(igms.get(1), igms.get(0)), boundaries));
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("merge", merge, igms.subList(0, 1), boundaries));
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("merge", merge, igms, boundaries.subList(0, 1)));
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("other", merge, igms, boundaries));
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("merge", null, igms, boundaries));
+
+        // merge computed again
+        MergeEntity recomputedMerge = new MergeEntity(new MergeEntityKey(PROCESS_UUID, DATE), "FIRST_LOADFLOW_SUCCEED");
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("merge", recomputedMerge, igms, boundaries));
+        merge.setStatus("FIRST_LOADFLOW_FAILED");
+        assertNotEquals(fingerprint, ExportCacheService.fingerprint("merge", merge, igms, boundaries));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isEmpty());
+        export("CGMES", "f1", "cgmes");
+
+        Optional<FileStreamInfos> cached = exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1");
+        assertTrue(cached.isPresent());
+        assertEquals("merge.CGMES", cached.get().getName());
+        assertEquals("cgmes", read(cached.get()));
+        // computed from other igms or boundaries
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f2").isEmpty());
+
+        // least recently downloaded export evicted
+        export("XIIDM", "f1", "xiidm");
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isPresent());
+        export("UCTE", "f1", "ucte");
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "XIIDM", "f1").isEmpty());
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isPresent());
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "UCTE", "f1").isPresent());
+
+        // exports bigger than the cache are not kept
+        export("XIIDM", "f1", "big xiidm export");
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "XIIDM", "f1").isEmpty());
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "UCTE", "f1").isPresent());
+
+        exportCacheService.invalidate(UUID.randomUUID(), DATE);
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "UCTE", "f1").isPresent());
+        exportCacheService.invalidate(PROCESS_UUID, DATE);
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "UCTE", "f1").isEmpty());
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isEmpty());
+
+        export("CGMES", "f1", "cgmes");
+        exportCacheService.invalidate(DATE.plusHours(1));
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isPresent());
+        exportCacheService.invalidate(DATE);
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isEmpty());
+    }
+
+    @Test
+    public void testInvalidationWhileExporting() throws IOException {
+        FileStreamInfos export = exportCacheService.cache(PROCESS_UUID, DATE, "CGMES", "f1",
+                new FileStreamInfos("merge.zip", outputStream -> outputStream.write("cgmes".getBytes(StandardCharsets.UTF_8))));
+        exportCacheService.invalidate(PROCESS_UUID, DATE);
+        assertEquals("cgmes", read(export));
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isEmpty());
+
+        export("CGMES", "f1", "cgmes");
+        assertTrue(exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").isPresent());
+    }
+
+    @Test
+    public void testCachedExportEvictedBeforeWritten() throws IOException {
+        export("CGMES", "f1", "cgmes");
+        // the cached content is opened only when written
+        FileStreamInfos cached = exportCacheService.get(PROCESS_UUID, DATE, "CGMES", "f1").orElseThrow();
+        exportCacheService.invalidate(DATE);
+        assertThrows(IOException.class, () -> read(cached));
+    }
+}
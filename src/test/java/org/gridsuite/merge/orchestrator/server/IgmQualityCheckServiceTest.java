@@ -75,5 +75,7 @@ public class IgmQualityCheckServiceTest {
             .thenReturn(ResponseEntity.ok("{validationOk\": \"true\"}"));
         assertTrue(assertThrows(PowsyblException.class, () -> igmQualityCheckService.check(networkUuid3, reportId))
             .getMessage().contains("Error parsing case validation result"));
+
+        assertTrue(igmQualityCheckService.checkAsync(networkUuid1, reportId).join());
     }
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MergeComputationSchedulerTest {
+
+    private static final UUID PROCESS_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+    private static final LocalDateTime DATE = LocalDateTime.of(2021, 3, 26, 9, 30);
+
+    private MergeComputationScheduler scheduler;
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testNoWindow() {
+        scheduler = new MergeComputationScheduler(0, 1);
+        List<Boolean> runs = new CopyOnWriteArrayList<>();
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add(superseded.getAsBoolean()));
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add(superseded.getAsBoolean()));
+        assertEquals(List.of(false, false), runs);
+    }
+
+    @Test
+    public void testCoalescing() throws InterruptedException {
+        scheduler = new MergeComputationScheduler(200, 2);
+        BlockingQueue<String> runs = new LinkedBlockingQueue<>();
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add("first"));
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add("second"));
+        scheduler.trigger(PROCESS_UUID, DATE.plusHours(1), superseded -> runs.add("other date"));
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add("third"));
+
+        List<String> received = List.of(runs.poll(5, TimeUnit.SECONDS), runs.poll(5, TimeUnit.SECONDS));
+        assertTrue(received.containsAll(List.of("third", "other date")));
+        assertNull(runs.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSupersede() throws InterruptedException {
+        scheduler = new MergeComputationScheduler(50, 2);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch retriggered = new CountDownLatch(1);
+        BlockingQueue<String> runs = new LinkedBlockingQueue<>();
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> {
+            firstStarted.countDown();
+            try {
+                assertTrue(retriggered.await(5, TimeUnit.SECONDS));
+                // let the new trigger window elapse while running
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runs.add("first superseded=" + superseded.getAsBoolean());
+        });
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        scheduler.trigger(PROCESS_UUID, DATE, superseded -> runs.add("second superseded=" + superseded.getAsBoolean()));
+        retriggered.countDown();
+
+        // runs of the same merge never overlap
+        assertEquals("first superseded=true", runs.poll(5, TimeUnit.SECONDS));
+        assertEquals("second superseded=false", runs.poll(5, TimeUnit.SECONDS));
+        assertNull(runs.poll(300, TimeUnit.MILLISECONDS));
+    }
+}
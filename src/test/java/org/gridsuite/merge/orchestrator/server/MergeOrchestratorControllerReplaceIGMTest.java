@@ -9,6 +9,8 @@ package org.gridsuite.merge.orchestrator.server;
 import com.powsybl.network.store.client.RestClientImpl;
 import org.gridsuite.merge.orchestrator.server.dto.IgmReplacingInfo;
 import org.gridsuite.merge.orchestrator.server.dto.IgmStatus;
+import org.gridsuite.merge.orchestrator.server.dto.ReplaceIgmsJob;
+import org.gridsuite.merge.orchestrator.server.dto.ReplaceIgmsJobStatus;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,13 +28,17 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -77,9 +83,27 @@ public class MergeOrchestratorControllerReplaceIGMTest {
     @MockitoBean
     private NotificationService notificationService;
 
+    @MockitoBean
+    private MergeLockService mergeLockService;
+
+    @MockitoBean
+    private NotificationRelay notificationRelay;
+
     @MockitoBean
     private RestClientImpl networkStoreRestClient;
 
+    @MockitoBean
+    private ReplaceIgmsJobService replaceIgmsJobService;
+
+    @MockitoBean
+    private ReplacingRulesService replacingRulesService;
+
+    @MockitoBean
+    private ReplacementPreSearchService replacementPreSearchService;
+
+    @MockitoBean
+    private GateClosureService gateClosureService;
+
     @Test
     public void testReplaceIGM() throws Exception {
         UUID uuidCaseIdFr = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
@@ -107,4 +131,40 @@ public class MergeOrchestratorControllerReplaceIGMTest {
         assertEquals("{\"FR\":{\"tso\":\"FR\",\"date\":\"2020-07-20T10:00:00Z\",\"status\":\"VALIDATION_SUCCEED\",\"caseUuid\":\"7928181c-7977-4592-ba19-88027e4254e4\",\"networkUuid\":\"8928181c-7977-4592-ba19-88027e4254e4\",\"businessProcess\":\"2D\",\"oldNetworkUuid\":null,\"eqBoundary\":null,\"tpBoundary\":null},\"ES\":{\"tso\":\"ES\",\"date\":\"2020-07-20T10:00:00Z\",\"status\":\"VALIDATION_SUCCEED\",\"caseUuid\":\"7928181c-7977-4592-ba19-88027e4254e5\",\"networkUuid\":\"8928181c-7977-4592-ba19-88027e4254e5\",\"businessProcess\":\"2D\",\"oldNetworkUuid\":null,\"eqBoundary\":null,\"tpBoundary\":null}}",
                 result.getResponse().getContentAsString());
     }
+
+    @Test
+    public void testReplaceIGMJob() throws Exception {
+        UUID processUuid = UUID.fromString("21111111-f60e-4766-bc5c-8f312c1984e4");
+        UUID jobUuid = UUID.fromString("9928181c-7977-4592-ba19-88027e4254e4");
+        UUID uuidCaseIdFr = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        UUID uuidNetworkIdFr = UUID.fromString("8928181c-7977-4592-ba19-88027e4254e4");
+
+        ZonedDateTime dateTime = ZonedDateTime.of(2020, 7, 20, 10, 0, 0, 0, ZoneId.of("UTC"));
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+        String processDate = URLEncoder.encode(formatter.format(dateTime), StandardCharsets.UTF_8);
+
+        given(replaceIgmsJobService.submit(eq(processUuid), any(ZonedDateTime.class)))
+                .willReturn(new ReplaceIgmsJob(jobUuid, processUuid, dateTime, ReplaceIgmsJobStatus.PENDING, null, null));
+
+        MvcResult result = mvc.perform(post("/" + VERSION + "/" + processUuid + "/" + processDate + "/replace-igms-jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andReturn();
+        assertEquals("{\"id\":\"9928181c-7977-4592-ba19-88027e4254e4\",\"processUuid\":\"21111111-f60e-4766-bc5c-8f312c1984e4\",\"date\":\"2020-07-20T10:00:00Z\",\"status\":\"PENDING\",\"replacingIgms\":null,\"error\":null}",
+                result.getResponse().getContentAsString());
+
+        given(replaceIgmsJobService.getJob(jobUuid))
+                .willReturn(Optional.of(new ReplaceIgmsJob(jobUuid, processUuid, dateTime, ReplaceIgmsJobStatus.SUCCEED,
+                        Map.of("FR", new IgmReplacingInfo("FR", dateTime, IgmStatus.VALIDATION_SUCCEED, uuidCaseIdFr, uuidNetworkIdFr, "2D", null, null, null)), null)));
+
+        result = mvc.perform(get("/" + VERSION + "/replace-igms-jobs/" + jobUuid))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andReturn();
+        assertEquals("{\"id\":\"9928181c-7977-4592-ba19-88027e4254e4\",\"processUuid\":\"21111111-f60e-4766-bc5c-8f312c1984e4\",\"date\":\"2020-07-20T10:00:00Z\",\"status\":\"SUCCEED\",\"replacingIgms\":{\"FR\":{\"tso\":\"FR\",\"date\":\"2020-07-20T10:00:00Z\",\"status\":\"VALIDATION_SUCCEED\",\"caseUuid\":\"7928181c-7977-4592-ba19-88027e4254e4\",\"networkUuid\":\"8928181c-7977-4592-ba19-88027e4254e4\",\"businessProcess\":\"2D\",\"oldNetworkUuid\":null,\"eqBoundary\":null,\"tpBoundary\":null}},\"error\":null}",
+                result.getResponse().getContentAsString());
+
+        mvc.perform(get("/" + VERSION + "/replace-igms-jobs/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
 }
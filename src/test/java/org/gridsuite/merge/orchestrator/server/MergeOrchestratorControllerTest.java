@@ -32,6 +32,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.net.URI;
 import java.net.URLEncoder;
@@ -41,9 +42,14 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.gridsuite.merge.orchestrator.server.MergeOrchestratorConstants.DELIMITER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -52,9 +58,11 @@ import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -123,6 +131,9 @@ public class MergeOrchestratorControllerTest {
     @Autowired
     InputDestination input;
 
+    @Autowired
+    private MergeEventStreamService mergeEventStreamService;
+
     private void cleanDB() {
         igmRepository.deleteAll();
         mergeRepository.deleteAll();
@@ -183,6 +194,21 @@ public class MergeOrchestratorControllerTest {
                 .andExpect(content().json("[]"));
 
         String date = URLEncoder.encode(DATE_FORMATTER.format(dateTime), StandardCharsets.UTF_8);
+        mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/merges/page?limit=1")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"merges\":" + resExpected + "}"));
+
+        mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/merges/page?summary=true")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"merges\":[{\"processUuid\":\"" + SWE_1D_UUID + "\",\"date\":\"" + DATE_FORMATTER.format(dateTime) + "\",\"status\":\"FIRST_LOADFLOW_SUCCEED\",\"igmStatusCounts\":{\"VALIDATION_SUCCEED\":1}}]}"));
+
+        mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/merges/page?after=" + date)
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"merges\":[]}"));
+
         mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/merges?minDate=" + date + "&maxDate=" + date)
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -222,17 +248,26 @@ public class MergeOrchestratorControllerTest {
                 .willReturn(List.of(new BoundaryContent("idEQ", "EQ_boundary.xml", "fake eq boundary"), new BoundaryContent("idTP", "TP_boundary.xml", "fake tp boundary")));
         given(networkConversionService.exportMerge(any(List.class), any(List.class), any(String.class), any(String.class), any(List.class)))
                 .willReturn(new FileInfos("testFile.xiidm", ByteArrayBuilder.NO_BYTES));
-        mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/" + processDate + "/export/XIIDM")
+        MvcResult result = mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/" + processDate + "/export/XIIDM")
                 .contentType(APPLICATION_OCTET_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_OCTET_STREAM));
 
+        given(networkConversionService.exportCgmesMerge(any(List.class), any(List.class), any(String.class), any(List.class)))
+                .willReturn(new FileStreamInfos("testFile.zip", outputStream -> outputStream.write("cgmes".getBytes(StandardCharsets.UTF_8))));
         UUID randomUuid = UUID.randomUUID();
         mergeConfigService.addConfig(new ProcessConfig(randomUuid, "FRESPT_2D", "2D", List.of("FR", "ES", "PT"), false, true, null, null));
-        mvc.perform(get("/" + VERSION + "/" + randomUuid + "/" + processDate + "/export/CGMES")
+        result = mvc.perform(get("/" + VERSION + "/" + randomUuid + "/" + processDate + "/export/CGMES")
                 .contentType(APPLICATION_OCTET_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(content().contentTypeCompatibleWith(APPLICATION_OCTET_STREAM));
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes("cgmes".getBytes(StandardCharsets.UTF_8)));
     }
 
     @SneakyThrows
@@ -280,4 +315,71 @@ public class MergeOrchestratorControllerTest {
         mvc.perform(delete(DELIMITER + VERSION + DELIMITER + FRES_2D_UUID + DELIMITER + URLEncoder.encode(mergeDate, StandardCharsets.UTF_8) + "/report"))
                 .andExpect(status().isOk());
     }
+
+    @SneakyThrows
+    private static String awaitContent(MvcResult result, String expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    public void testMergeEvents() throws Exception {
+        ZonedDateTime dateTime = ZonedDateTime.of(2020, 7, 20, 10, 0, 0, 0, ZoneId.of("UTC"));
+        String date = URLEncoder.encode(DATE_FORMATTER.format(dateTime), StandardCharsets.UTF_8);
+        mergeEventStreamService.publish(new MergeNotification(SWE_1D_UUID, "1D", dateTime, "FR", "AVAILABLE", null));
+
+        // events sent before the subscription are replayed
+        MvcResult result = mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/events?minDate=" + date)
+                        .header("Last-Event-ID", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mergeEventStreamService.publish(new MergeNotification(UUID.randomUUID(), "1D", dateTime, "FR", "AVAILABLE", null));
+        mergeEventStreamService.publish(new MergeNotification(SWE_1D_UUID, "1D", dateTime.minusHours(1), null, "FIRST_LOADFLOW_FAILED", null));
+        mergeEventStreamService.publish(new MergeNotification(SWE_1D_UUID, "1D", dateTime, null, "FIRST_LOADFLOW_SUCCEED", null));
+
+        String content = awaitContent(result, "FIRST_LOADFLOW_SUCCEED");
+        assertTrue(content.contains("\"tso\":\"FR\""));
+        assertTrue(content.contains("\"status\":\"AVAILABLE\""));
+        assertTrue(content.contains("\"status\":\"FIRST_LOADFLOW_SUCCEED\""));
+        // other process and dates filtered
+        assertFalse(content.contains("FIRST_LOADFLOW_FAILED"));
+        assertEquals(2, content.split("event:merge").length - 1);
+
+        // reconnection : only the events following the last received one are replayed
+        Matcher firstEventId = Pattern.compile("id:(\\S+)").matcher(content);
+        assertTrue(firstEventId.find());
+        MvcResult replayResult = mvc.perform(get("/" + VERSION + "/" + SWE_1D_UUID + "/events?minDate=" + date)
+                        .header("Last-Event-ID", firstEventId.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replayContent = awaitContent(replayResult, "FIRST_LOADFLOW_SUCCEED");
+        assertTrue(replayContent.contains("FIRST_LOADFLOW_SUCCEED"));
+        assertFalse(replayContent.contains("AVAILABLE"));
+    }
+
+    @Test
+    public void testMergeEventsReplayAboveMaxPendingEvents() throws Exception {
+        UUID processUuid = UUID.randomUUID();
+        ZonedDateTime dateTime = ZonedDateTime.of(2020, 7, 20, 10, 0, 0, 0, ZoneId.of("UTC"));
+        // more missed events than the pending events allowed to a live client
+        for (int i = 0; i < 300; i++) {
+            mergeEventStreamService.publish(new MergeNotification(processUuid, "1D", dateTime, "FR", "AVAILABLE", null));
+        }
+
+        MvcResult result = mvc.perform(get("/" + VERSION + "/" + processUuid + "/events")
+                        .header("Last-Event-ID", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mergeEventStreamService.publish(new MergeNotification(processUuid, "1D", dateTime, null, "FIRST_LOADFLOW_SUCCEED", null));
+
+        // the replay does not disconnect the client
+        String content = awaitContent(result, "FIRST_LOADFLOW_SUCCEED");
+        assertEquals(301, content.split("event:merge").length - 1);
+    }
 }
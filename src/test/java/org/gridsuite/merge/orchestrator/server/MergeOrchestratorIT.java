@@ -7,12 +7,14 @@
 package org.gridsuite.merge.orchestrator.server;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.ReportNodeJsonModule;
 import com.powsybl.commons.report.ReportNodeRootBuilderImpl;
 import com.powsybl.iidm.network.NetworkFactory;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.SneakyThrows;
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.Dispatcher;
@@ -22,10 +24,13 @@ import okhttp3.mockwebserver.RecordedRequest;
 import org.gridsuite.merge.orchestrator.server.dto.*;
 import org.gridsuite.merge.orchestrator.server.repositories.*;
 import org.gridsuite.merge.orchestrator.server.utils.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
@@ -44,16 +49,27 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.ContextHierarchy;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.springframework.web.client.ResourceAccessException;
 
 import static org.gridsuite.merge.orchestrator.server.MergeOrchestratorException.Type.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -92,6 +108,12 @@ public class MergeOrchestratorIT {
     @Autowired
     BoundaryRepository boundaryRepository;
 
+    @Autowired
+    MergeLockRepository mergeLockRepository;
+
+    @Autowired
+    MergeLockService mergeLockService;
+
     @MockitoBean
     private IgmQualityCheckService igmQualityCheckService;
 
@@ -116,6 +138,36 @@ public class MergeOrchestratorIT {
     @Autowired
     MergeOrchestratorConfigService mergeOrchestratorConfigService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private MergeNotificationRepository mergeNotificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationRelay notificationRelay;
+
+    @Autowired
+    private MergeEventService mergeEventService;
+
+    @Autowired
+    private ReplaceIgmsJobService replaceIgmsJobService;
+
+    @Autowired
+    private ReplaceIgmsJobRepository replaceIgmsJobRepository;
+
+    @Autowired
+    private ReplacementPreSearchService replacementPreSearchService;
+
+    @Autowired
+    private GateClosureService gateClosureService;
+
     private boolean runBalancesAdjustment;
 
     @Autowired
@@ -577,6 +629,10 @@ public class MergeOrchestratorIT {
         messageFrIGMProcess2 = output.receive(1000, "merge.destination");
         assertEquals("VALIDATION_SUCCEED", messageFrIGMProcess2.getHeaders().get("status"));
 
+        // both processes use the same boundaries : the IGM is checked only once, but each process computes on its own network
+        Mockito.verify(igmQualityCheckService, Mockito.times(1)).check(UUID_NETWORK_ID_FR, UUID_NETWORK_ID_FR);
+        Mockito.verify(networkConversionService, Mockito.times(2)).importCase(eq(UUID_CASE_ID_FR), any());
+
         List<MergeEntity> mergeEntities = mergeRepository.findAll();
         mergeEntities.sort(Comparator.comparing(merge -> merge.getKey().getProcessUuid()));
         assertEquals(2, mergeEntities.size());
@@ -736,6 +792,55 @@ public class MergeOrchestratorIT {
         mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", tsos, false, true, null, null));
     }
 
+    @Test
+    public void testMultipleMergeOwnNetworks() {
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRPT_2D_UUID, "FRPT_2D", "2D", List.of("FR", "PT"), false, true, null, null));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", List.of("FR", "ES", "PT"), false, true, null, null));
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        // the checked import first, the import parallelism being 1 during test
+        UUID ownNetworkFr = UUID.fromString("22222222-7977-4592-ba19-88027e4254e4");
+        Mockito.when(networkConversionService.importCase(eq(UUID_CASE_ID_FR), any())).thenReturn(UUID_NETWORK_ID_FR, ownNetworkFr);
+        UUID ownNetworkEs = UUID.fromString("22222222-7977-4592-ba19-88027e4254e5");
+        Mockito.when(networkConversionService.importCase(eq(UUID_CASE_ID_ES_VALIDATION_FAILED), any())).thenReturn(UUID_CASE_ID_ES_VALIDATION_FAILED, ownNetworkEs);
+
+        // valid IGM : checked once, each process merging its own network
+        input.send(MessageBuilder.withPayload("")
+                .setHeader("tso", "FR")
+                .setHeader("date", "2019-05-01T10:00:00.000+01:00")
+                .setHeader("uuid", UUID_CASE_ID_FR.toString())
+                .setHeader("format", "CGMES")
+                .setHeader("businessProcess", "2D")
+                .build());
+        testImportIgmMessages(3, false);
+        Mockito.verify(igmQualityCheckService, Mockito.times(1)).check(any(), any());
+        Mockito.verify(igmQualityCheckService).check(UUID_NETWORK_ID_FR, UUID_NETWORK_ID_FR);
+        LocalDateTime date = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        List<UUID> frNetworks = Stream.of(FRES_2D_UUID, FRPT_2D_UUID, SWE_2D_UUID)
+                .map(processUuid -> igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, "FR").orElseThrow().getNetworkUuid())
+                .toList();
+        assertEquals(1, Collections.frequency(frNetworks, UUID_NETWORK_ID_FR));
+        assertEquals(2, Collections.frequency(frNetworks, ownNetworkFr));
+        Mockito.verify(networkStoreService, Mockito.never()).deleteNetwork(any());
+
+        // invalid IGM : never computed, the checked network being shared and the own imports deleted
+        input.send(MessageBuilder.withPayload("")
+                .setHeader("tso", "ES")
+                .setHeader("date", "2019-05-01T10:00:00.000+01:00")
+                .setHeader("uuid", UUID_CASE_ID_ES_VALIDATION_FAILED.toString())
+                .setHeader("format", "CGMES")
+                .setHeader("businessProcess", "2D")
+                .build());
+        testImportIgmMessages(2, false, false);
+        for (UUID processUuid : List.of(FRES_2D_UUID, SWE_2D_UUID)) {
+            assertEquals(UUID_CASE_ID_ES_VALIDATION_FAILED, igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, "ES").orElseThrow().getNetworkUuid());
+        }
+        Mockito.verify(networkStoreService).deleteNetwork(ownNetworkEs);
+        Mockito.verify(networkStoreService, Mockito.never()).deleteNetwork(UUID_CASE_ID_ES_VALIDATION_FAILED);
+    }
+
     private void testImportIgmMessages(int nbOfTimes, boolean withMerge) {
         testImportIgmMessages(nbOfTimes, withMerge, true);
     }
@@ -851,17 +956,116 @@ public class MergeOrchestratorIT {
         mergeOrchestratorConfigService.deleteConfig(FRES_2D_UUID);
         assertEquals(1, mergeRepository.findAll().size());
         assertEquals(2, igmRepository.findAll().size());
+        // FR network is still used by FRPT_2D process
+        Mockito.verify(networkStoreService, Mockito.never()).deleteNetwork(UUID_NETWORK_ID_FR);
+        Mockito.verify(networkStoreService).deleteNetwork(UUID_NETWORK_ID_ES);
         assertTrue(getRequestsDone(1).contains(String.format("/v1/reports/%s", reportUuid)));
 
         reportUuid = merges.get(1).getReportUUID();
         mergeOrchestratorConfigService.deleteConfig(FRPT_2D_UUID);
         assertEquals(0, mergeRepository.findAll().size());
         assertEquals(0, igmRepository.findAll().size());
+        Mockito.verify(networkStoreService).deleteNetwork(UUID_NETWORK_ID_FR);
+        Mockito.verify(networkStoreService).deleteNetwork(UUID_NETWORK_ID_PT);
         assertTrue(getRequestsDone(1).contains(String.format("/v1/reports/%s", reportUuid)));
 
         assertNull(output.receive(1000, "merge.destination"));
     }
 
+    @Test
+    public void testImportRetry() {
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary 1"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary 2")));
+        // network conversion server unavailable on the first import of ES
+        Mockito.when(networkConversionService.importCase(eq(UUID_CASE_ID_ES), any()))
+                .thenThrow(new PowsyblException("Error importing case " + UUID_CASE_ID_ES + " with boundaries !!", new ResourceAccessException("Read timed out")))
+                .thenReturn(UUID_NETWORK_ID_ES);
+
+        input.send(MessageBuilder.withPayload("")
+                .setHeader("tso", "FR")
+                .setHeader("date", "2019-05-01T10:00:00.000+01:00")
+                .setHeader("uuid", UUID_CASE_ID_FR.toString())
+                .setHeader("format", "CGMES")
+                .setHeader("businessProcess", "2D")
+                .build());
+        testImportIgmMessages(1, false);
+        input.send(MessageBuilder.withPayload("")
+                .setHeader("tso", "ES")
+                .setHeader("date", "2019-05-01T10:00:00.000+01:00")
+                .setHeader("uuid", UUID_CASE_ID_ES.toString())
+                .setHeader("format", "CGMES")
+                .setHeader("businessProcess", "2D")
+                .build());
+        testImportIgmMessages(1, false, false);
+
+        LocalDateTime date = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        IgmEntity esIgm = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(FRES_2D_UUID, date, "ES").orElseThrow();
+        assertEquals(IgmStatus.VALIDATION_FAILED.name(), esIgm.getStatus());
+        assertEquals(1, esIgm.getImportAttempts());
+        assertEquals(UUID_CASE_ID_ES, esIgm.getCaseUuid());
+        assertTrue(esIgm.getNextImportRetry().isAfter(LocalDateTime.now(ZoneOffset.UTC)));
+
+        // not due yet
+        mergeOrchestratorService.retryFailedImports();
+        assertNull(output.receive(1000, "merge.destination"));
+
+        esIgm.setNextImportRetry(LocalDateTime.now(ZoneOffset.UTC).minusSeconds(1).truncatedTo(ChronoUnit.MILLIS));
+        igmRepository.save(esIgm);
+        mergeOrchestratorService.retryFailedImports();
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+
+        esIgm = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(FRES_2D_UUID, date, "ES").orElseThrow();
+        assertEquals(IgmStatus.VALIDATION_SUCCEED.name(), esIgm.getStatus());
+        assertEquals(UUID_NETWORK_ID_ES, esIgm.getNetworkUuid());
+        assertEquals(0, esIgm.getImportAttempts());
+        assertNull(esIgm.getNextImportRetry());
+        Mockito.verify(networkConversionService, Mockito.times(2)).importCase(eq(UUID_CASE_ID_ES), any());
+    }
+
+    @Test
+    public void testImportRetrySharedByProcesses() {
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRPT_2D_UUID, "FRPT_2D", "2D", List.of("FR", "PT"), false, true, null, null));
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary 1"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary 2")));
+        // network conversion server unavailable on the first import of FR
+        Mockito.when(networkConversionService.importCase(eq(UUID_CASE_ID_FR), any()))
+                .thenThrow(new PowsyblException("Error importing case " + UUID_CASE_ID_FR + " with boundaries !!", new ResourceAccessException("Read timed out")))
+                .thenReturn(UUID_NETWORK_ID_FR);
+
+        input.send(MessageBuilder.withPayload("")
+                .setHeader("tso", "FR")
+                .setHeader("date", "2019-05-01T10:00:00.000+01:00")
+                .setHeader("uuid", UUID_CASE_ID_FR.toString())
+                .setHeader("format", "CGMES")
+                .setHeader("businessProcess", "2D")
+                .build());
+        testImportIgmMessages(2, false, false);
+
+        LocalDateTime date = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        for (UUID processUuid : List.of(FRES_2D_UUID, FRPT_2D_UUID)) {
+            IgmEntity frIgm = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, "FR").orElseThrow();
+            frIgm.setNextImportRetry(LocalDateTime.now(ZoneOffset.UTC).minusSeconds(1).truncatedTo(ChronoUnit.MILLIS));
+            igmRepository.save(frIgm);
+        }
+        mergeOrchestratorService.retryFailedImports();
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+
+        // the retries of both processes share the import and the quality check, each process computing on its own network
+        Mockito.verify(igmQualityCheckService, Mockito.times(1)).check(UUID_NETWORK_ID_FR, UUID_NETWORK_ID_FR);
+        Mockito.verify(networkConversionService, Mockito.times(3)).importCase(eq(UUID_CASE_ID_FR), any());
+        for (UUID processUuid : List.of(FRES_2D_UUID, FRPT_2D_UUID)) {
+            IgmEntity frIgm = igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(processUuid, date, "FR").orElseThrow();
+            assertEquals(IgmStatus.VALIDATION_SUCCEED.name(), frIgm.getStatus());
+            assertNull(frIgm.getNextImportRetry());
+        }
+    }
+
     @Test
     public void testDeleteIgmMergeWithImportError() {
         mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
@@ -1112,6 +1316,73 @@ public class MergeOrchestratorIT {
         assertEquals(2, mergeOrchestratorConfigService.getConfig(XYZ_2D_UUID).get().getTsos().size());
     }
 
+    @Test
+    public void testProcessConfigsFetchedInASingleQuery() {
+        createProcessConfigs();
+        createProcessConfigWithSpecificBoundaries();
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(XYZ_2D_UUID, "XYZ_2D", "2D", List.of("FR", "ES"), false, false,
+                new BoundaryInfo(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_001.xml", LocalDateTime.of(2021, 2, 10, 11, 0, 0)),
+                new BoundaryInfo(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_001.xml", LocalDateTime.of(2021, 5, 20, 9, 30, 0))));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ProcessConfig> configs = mergeOrchestratorConfigService.getConfigs();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, configs.size());
+        ProcessConfig xyzConfig = configs.stream().filter(c -> c.getProcessUuid().equals(XYZ_2D_UUID)).findFirst().orElseThrow();
+        assertEquals(List.of("FR", "ES"), xyzConfig.getTsos());
+        assertEquals(BOUNDARY_EQ_ID, xyzConfig.getEqBoundary().getId());
+        assertEquals(BOUNDARY_TP_ID, xyzConfig.getTpBoundary().getId());
+
+        statistics.clear();
+        ProcessConfig config = mergeOrchestratorConfigService.getConfig(SWE_1D_UUID).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("FR", "ES", "PT"), config.getTsos());
+        assertEquals(SPECIFIC_BOUNDARY_EQ_ID, config.getEqBoundary().getId());
+        assertEquals(SPECIFIC_BOUNDARY_TP_ID, config.getTpBoundary().getId());
+    }
+
+    @Test
+    public void testProcessConfigRouting() {
+        createProcessConfigs();
+        assertEquals(List.of(SWE_2D_UUID, FRES_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("FR", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+        assertEquals(List.of(SWE_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("PT", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+        assertEquals(List.of(SWE_1D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("ES", "CGMES", "1D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+        assertTrue(mergeOrchestratorConfigService.getMatchingConfigs("FR", "UCTE", "2D").isEmpty());
+        assertTrue(mergeOrchestratorConfigService.getMatchingConfigs("FR", "CGMES", "RT").isEmpty());
+        assertTrue(mergeOrchestratorConfigService.getMatchingConfigs("", "CGMES", "2D").isEmpty());
+
+        // the index is rebuilt once a config is added or deleted, and the other instances are notified
+        while (output.receive(0, "merge.config.destination") != null) {
+            // ignoring the notifications of the configs creation
+        }
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(XYZ_2D_UUID, "XYZ_2D", "2D", List.of("FR", "PT"), false, true, null, null));
+        assertEquals(XYZ_2D_UUID, output.receive(1000, "merge.config.destination").getHeaders().get("processUuid"));
+        assertEquals(List.of(SWE_2D_UUID, XYZ_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("PT", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+
+        mergeOrchestratorConfigService.deleteConfig(SWE_2D_UUID);
+        assertEquals(SWE_2D_UUID, output.receive(1000, "merge.config.destination").getHeaders().get("processUuid"));
+        assertEquals(List.of(FRES_2D_UUID, XYZ_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("FR", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+
+        // only the tsos of a config updated
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(XYZ_2D_UUID, "XYZ_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+        assertEquals(XYZ_2D_UUID, output.receive(1000, "merge.config.destination").getHeaders().get("processUuid"));
+        assertNull(output.receive(0, "merge.config.destination"));
+        assertTrue(mergeOrchestratorConfigService.getMatchingConfigs("PT", "CGMES", "2D").isEmpty());
+        assertEquals(List.of(FRES_2D_UUID, XYZ_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("ES", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+
+        // config changed by another instance, notifying this one
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                processConfigRepository.findWithTsosAndBoundariesByProcessUuid(XYZ_2D_UUID).orElseThrow().getTsos().remove("ES"));
+        assertEquals(List.of(FRES_2D_UUID, XYZ_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("ES", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+        mergeOrchestratorConfigService.consumeConfigUpdate().accept(MessageBuilder.withPayload("").setHeader("processUuid", XYZ_2D_UUID).build());
+        assertEquals(List.of(FRES_2D_UUID), mergeOrchestratorConfigService.getMatchingConfigs("ES", "CGMES", "2D").stream().map(ProcessConfig::getProcessUuid).collect(Collectors.toList()));
+
+        // configs written without the service
+        processConfigRepository.deleteAll();
+        assertTrue(mergeOrchestratorConfigService.getMatchingConfigs("FR", "CGMES", "2D").isEmpty());
+    }
+
     @Test
     public void replacingIGMsTest() {
         // process dateTime : 2019-05_01T09:30:00Z
@@ -1137,7 +1408,8 @@ public class MergeOrchestratorIT {
         UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
         ZonedDateTime replacingDateES = ZonedDateTime.of(2019, 5, 1, 12, 30, 0, 0, ZoneId.of("UTC"));
 
-        Mockito.when(caseFetcherService.getCases(List.of("ES"), replacingDateES, "CGMES", "2D"))
+        // ES and PT igms searched together
+        Mockito.when(caseFetcherService.getCases(List.of("ES", "PT"), replacingDateES, "CGMES", "2D"))
                 .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
 
         UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
@@ -1146,6 +1418,10 @@ public class MergeOrchestratorIT {
 
         Map<String, IgmReplacingInfo> resReplacing = mergeOrchestratorService.replaceIGMs(SWE_2D_UUID, dateTime);
 
+        // a single search by candidate, then for PT only once ES has been found
+        Mockito.verify(caseFetcherService).getCases(List.of("ES", "PT"), replacingDateES, "CGMES", "2D");
+        Mockito.verify(caseFetcherService, Mockito.never()).getCases(eq(List.of("ES")), any(), any(), any());
+
         assertEquals(1, resReplacing.size());
         assertTrue(resReplacing.containsKey("ES"));
         assertEquals("ES", resReplacing.get("ES").getTso());
@@ -1264,6 +1540,292 @@ public class MergeOrchestratorIT {
         assertEquals(SWE_2D_UUID, messageEsIGM.getHeaders().get("processUuid"));
     }
 
+    @Test
+    public void replacingIGMsJobTest() {
+        ZonedDateTime dateTime = ZonedDateTime.of(2019, 5, 1, 9, 30, 0, 0, ZoneId.of("UTC"));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+
+        // missing ES igm
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime()), null));
+        igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        ZonedDateTime replacingDate = ZonedDateTime.of(2019, 5, 1, 12, 30, 0, 0, ZoneId.of("UTC"));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
+        Mockito.when(caseFetcherService.getCases(List.of("ES"), replacingDate, "CGMES", "2D"))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCaseES), any())).thenReturn(uuidReplacingNetworkES);
+
+        ReplaceIgmsJob job = replaceIgmsJobService.submit(SWE_2D_UUID, dateTime);
+        assertEquals(ReplaceIgmsJobStatus.PENDING, job.getStatus());
+
+        // progress notified
+        Message<byte[]> message = output.receive(1000, "merge.destination");
+        assertEquals("PENDING", message.getHeaders().get("status"));
+        assertEquals(job.getId(), message.getHeaders().get("jobUuid"));
+        assertEquals("RUNNING", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("AVAILABLE", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        message = output.receive(5000, "merge.destination");
+        assertEquals("SUCCEED", message.getHeaders().get("status"));
+        assertEquals(job.getId(), message.getHeaders().get("jobUuid"));
+
+        job = replaceIgmsJobService.getJob(job.getId()).orElseThrow();
+        assertEquals(ReplaceIgmsJobStatus.SUCCEED, job.getStatus());
+        assertNull(job.getError());
+        assertEquals(Set.of("ES"), job.getReplacingIgms().keySet());
+        assertEquals(uuidReplacingNetworkES, job.getReplacingIgms().get("ES").getNetworkUuid());
+        assertEquals(replacingDate.toInstant(), job.getReplacingIgms().get("ES").getDate().toInstant());
+
+        assertTrue(replaceIgmsJobService.getJob(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    public void replacingIGMsJobRecoveryTest() {
+        ZonedDateTime dateTime = ZonedDateTime.of(2019, 5, 1, 9, 30, 0, 0, ZoneId.of("UTC"));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+
+        // missing ES igm
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime()), null));
+        igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        ZonedDateTime replacingDate = ZonedDateTime.of(2019, 5, 1, 12, 30, 0, 0, ZoneId.of("UTC"));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
+        Mockito.when(caseFetcherService.getCases(List.of("ES"), replacingDate, "CGMES", "2D"))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCaseES), any())).thenReturn(uuidReplacingNetworkES);
+
+        // jobs left running by a stopped instance, the lease of the first one being expired
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        ReplaceIgmsJobEntity expiredJob = new ReplaceIgmsJobEntity(UUID.randomUUID(), SWE_2D_UUID, dateTime.toLocalDateTime(), ReplaceIgmsJobStatus.RUNNING.name(), now);
+        expiredJob.setLeaseExpiration(now.minusMinutes(1));
+        replaceIgmsJobRepository.save(expiredJob);
+        ReplaceIgmsJobEntity leasedJob = new ReplaceIgmsJobEntity(UUID.randomUUID(), SWE_2D_UUID, dateTime.toLocalDateTime(), ReplaceIgmsJobStatus.RUNNING.name(), now);
+        leasedJob.setLeaseExpiration(now.plusMinutes(10));
+        replaceIgmsJobRepository.save(leasedJob);
+
+        replaceIgmsJobService.recoverJobs();
+        Message<byte[]> message = output.receive(5000, "merge.destination");
+        assertEquals("RUNNING", message.getHeaders().get("status"));
+        assertEquals(expiredJob.getId(), message.getHeaders().get("jobUuid"));
+        assertEquals("AVAILABLE", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        message = output.receive(5000, "merge.destination");
+        assertEquals("SUCCEED", message.getHeaders().get("status"));
+        assertEquals(expiredJob.getId(), message.getHeaders().get("jobUuid"));
+        assertNull(output.receive(1000, "merge.destination"));
+
+        assertEquals(ReplaceIgmsJobStatus.SUCCEED, replaceIgmsJobService.getJob(expiredJob.getId()).orElseThrow().getStatus());
+        assertNull(replaceIgmsJobRepository.findById(expiredJob.getId()).orElseThrow().getLeaseExpiration());
+        assertEquals(ReplaceIgmsJobStatus.RUNNING, replaceIgmsJobService.getJob(leasedJob.getId()).orElseThrow().getStatus());
+
+        // run once
+        replaceIgmsJobService.recoverJobs();
+        assertNull(output.receive(1000, "merge.destination"));
+        replaceIgmsJobRepository.deleteAll();
+    }
+
+    @Test
+    public void replacingSeveralIGMsTest() {
+        ZonedDateTime dateTime = ZonedDateTime.of(2019, 5, 1, 9, 30, 0, 0, ZoneId.of("UTC"));
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", List.of("FR", "ES", "PT"), false, true, null, null));
+
+        // missing ES and PT igms
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime()), null));
+        igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_2D_UUID, dateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+
+        ZonedDateTime replacingDate = ZonedDateTime.of(2019, 5, 1, 12, 30, 0, 0, ZoneId.of("UTC"));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        UUID uuidReplacingCasePT = UUID.fromString("7928181c-7977-4592-ba19-88027e4254f1");
+        Mockito.when(caseFetcherService.getCases(List.of("ES", "PT"), replacingDate, "CGMES", "2D"))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D"),
+                        new CaseInfos("20190501T1230Z_1D_REN_001.zip", uuidReplacingCasePT, "CGMES", "PT", "2D")));
+        UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
+        UUID uuidReplacingNetworkPT = UUID.fromString("7928181c-7977-4592-ba19-88027e4254f2");
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCaseES), any())).thenReturn(uuidReplacingNetworkES);
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCasePT), any())).thenReturn(uuidReplacingNetworkPT);
+
+        Map<String, IgmReplacingInfo> resReplacing = mergeOrchestratorService.replaceIGMs(SWE_2D_UUID, dateTime);
+
+        assertEquals(Set.of("ES", "PT"), resReplacing.keySet());
+        assertEquals(uuidReplacingNetworkES, resReplacing.get("ES").getNetworkUuid());
+        assertEquals(uuidReplacingNetworkPT, resReplacing.get("PT").getNetworkUuid());
+
+        assertEquals("AVAILABLE", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("AVAILABLE", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertNull(output.receive(1000, "merge.destination"));
+
+        // a single merge computation for both replacements
+        Mockito.verify(loadFlowService, Mockito.times(1)).run(any(), any());
+        assertEquals("FIRST_LOADFLOW_SUCCEED", mergeRepository.findByKeyProcessUuidAndKeyDate(SWE_2D_UUID, dateTime.toLocalDateTime()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void replacingIGMsPreSearchTest() {
+        // upcoming merge, within the pre-search horizon
+        ZonedDateTime upcomingDateTime = ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.HOURS).plusMinutes(90);
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+
+        // missing ES igm
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(FRES_2D_UUID, upcomingDateTime.toLocalDateTime()), null));
+        igmRepository.save(new IgmEntity(new IgmEntityKey(FRES_2D_UUID, upcomingDateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        Mockito.when(caseFetcherService.getCases(eq(List.of("ES")), any(), eq("CGMES"), eq("2D")))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
+        UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCaseES), any())).thenReturn(uuidReplacingNetworkES);
+
+        // the two best candidates searched in advance
+        replacementPreSearchService.preSearchUpcomingMerges();
+        Mockito.verify(caseFetcherService, Mockito.times(2)).getCases(any(), any(), any(), any());
+
+        Map<String, IgmReplacingInfo> resReplacing = mergeOrchestratorService.replaceIGMs(FRES_2D_UUID, upcomingDateTime);
+
+        // no search left for the replacement
+        Mockito.verify(caseFetcherService, Mockito.times(2)).getCases(any(), any(), any(), any());
+        assertEquals(Set.of("ES"), resReplacing.keySet());
+        assertEquals(uuidReplacingNetworkES, resReplacing.get("ES").getNetworkUuid());
+
+        assertEquals("AVAILABLE", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertNull(output.receive(1000, "merge.destination"));
+    }
+
+    @Test
+    public void replacingIGMsPreSearchRefreshTest() {
+        ZonedDateTime upcomingDateTime = ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.HOURS).plusMinutes(90);
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+
+        // missing ES igm
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(FRES_2D_UUID, upcomingDateTime.toLocalDateTime()), null));
+        igmRepository.save(new IgmEntity(new IgmEntityKey(FRES_2D_UUID, upcomingDateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        Mockito.when(caseFetcherService.getCases(eq(List.of("ES")), any(), eq("CGMES"), eq("2D")))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
+
+        replacementPreSearchService.preSearchUpcomingMerges();
+        ArgumentCaptor<ZonedDateTime> candidateDates = ArgumentCaptor.forClass(ZonedDateTime.class);
+        ArgumentCaptor<String> candidateBusinessProcesses = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(caseFetcherService, Mockito.times(2)).getCases(any(), candidateDates.capture(), any(), candidateBusinessProcesses.capture());
+
+        // new ES case imported at the best candidate date
+        ZonedDateTime candidateDate = candidateDates.getAllValues().get(0);
+        String candidateBusinessProcess = candidateBusinessProcesses.getAllValues().get(0);
+        UUID uuidNewCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e7");
+        Mockito.when(caseFetcherService.getCases(eq(List.of("ES")), eq(candidateDate), eq("CGMES"), eq(candidateBusinessProcess)))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_2D_REE_002.zip", uuidNewCaseES, "CGMES", "ES", candidateBusinessProcess)));
+        UUID uuidNewNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e8");
+        Mockito.when(networkConversionService.importCase(eq(uuidNewCaseES), any())).thenReturn(uuidNewNetworkES);
+        replacementPreSearchService.onCaseImported(candidateDate, candidateBusinessProcess, "ES");
+        replacementPreSearchService.onCaseImported(candidateDate, candidateBusinessProcess, "ES");
+
+        // only the outdated candidate searched again, at most once per import
+        Mockito.verify(caseFetcherService, Mockito.timeout(1000).atLeast(3)).getCases(any(), any(), any(), any());
+        Mockito.verify(caseFetcherService, Mockito.atMost(4)).getCases(any(), any(), any(), any());
+        Mockito.verify(caseFetcherService, Mockito.times(1)).getCases(any(), eq(candidateDates.getAllValues().get(1)), any(), any());
+
+        // the new case used by the replacement
+        Map<String, IgmReplacingInfo> resReplacing = mergeOrchestratorService.replaceIGMs(FRES_2D_UUID, upcomingDateTime);
+        assertEquals(Set.of("ES"), resReplacing.keySet());
+        assertEquals(uuidNewNetworkES, resReplacing.get("ES").getNetworkUuid());
+
+        assertEquals("AVAILABLE", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertNull(output.receive(1000, "merge.destination"));
+    }
+
+    @Test
+    public void replacingIGMsAtGateClosureTest() {
+        ZonedDateTime upcomingDateTime = ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.MINUTES).plusMinutes(10);
+        // gate closure 30 minutes before the merge date, reached 20 minutes ago
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(FRES_2D_UUID, "FRES_2D", "2D", List.of("FR", "ES"), false, true, null, null, 30));
+        // no gate closure
+        mergeOrchestratorConfigService.addConfig(new ProcessConfig(SWE_2D_UUID, "SWE_2D", "2D", List.of("FR", "ES"), false, true, null, null));
+
+        // missing ES igms
+        for (UUID processUuid : List.of(FRES_2D_UUID, SWE_2D_UUID)) {
+            mergeRepository.save(new MergeEntity(new MergeEntityKey(processUuid, upcomingDateTime.toLocalDateTime()), null));
+            igmRepository.save(new IgmEntity(new IgmEntityKey(processUuid, upcomingDateTime.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, null, null, null, null, null));
+        }
+
+        Mockito.when(cgmesBoundaryService.getLastBoundaries())
+                .thenReturn(List.of(new BoundaryContent(BOUNDARY_EQ_ID, "20210315T0000Z__ENTSOE_EQBD_002.xml", "fake content for boundary eq"),
+                        new BoundaryContent(BOUNDARY_TP_ID, "20210315T0000Z__ENTSOE_TPBD_002.xml", "fake content for boundary tp")));
+        UUID uuidReplacingCaseES = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e5");
+        Mockito.when(caseFetcherService.getCases(eq(List.of("ES")), any(), eq("CGMES"), eq("2D")))
+                .thenReturn(List.of(new CaseInfos("20190501T1230Z_1D_REE_001.zip", uuidReplacingCaseES, "CGMES", "ES", "2D")));
+        UUID uuidReplacingNetworkES = UUID.fromString("11111111-7977-4592-ba19-88027e4254e6");
+        Mockito.when(networkConversionService.importCase(eq(uuidReplacingCaseES), any())).thenReturn(uuidReplacingNetworkES);
+
+        gateClosureService.closeGates();
+
+        // replacement job of the closed merge only
+        Message<byte[]> message = output.receive(5000, "merge.destination");
+        assertEquals("PENDING", message.getHeaders().get("status"));
+        assertEquals(FRES_2D_UUID, message.getHeaders().get("processUuid"));
+        assertEquals("RUNNING", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("AVAILABLE", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("VALIDATION_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("FIRST_LOADFLOW_SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+        assertEquals("SUCCEED", output.receive(5000, "merge.destination").getHeaders().get("status"));
+
+        assertTrue(mergeRepository.findByKeyProcessUuidAndKeyDate(FRES_2D_UUID, upcomingDateTime.toLocalDateTime()).orElseThrow().isGateClosed());
+        assertFalse(mergeRepository.findByKeyProcessUuidAndKeyDate(SWE_2D_UUID, upcomingDateTime.toLocalDateTime()).orElseThrow().isGateClosed());
+        assertEquals("FIRST_LOADFLOW_SUCCEED", mergeRepository.findByKeyProcessUuidAndKeyDate(FRES_2D_UUID, upcomingDateTime.toLocalDateTime()).orElseThrow().getStatus());
+
+        // the gate is closed once
+        gateClosureService.closeGates();
+        assertNull(output.receive(1000, "merge.destination"));
+    }
+
+    @Test
+    public void testGateClosedKeptByIgmEvent() {
+        LocalDateTime date = dateTime.toLocalDateTime();
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(FRES_2D_UUID, date), MergeStatus.FIRST_LOADFLOW_SUCCEED.name()));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TransactionTemplate closingTransactionTemplate = new TransactionTemplate(transactionManager);
+        closingTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // merge loaded before the gate closure, then changed by an IGM event
+        transactionTemplate.executeWithoutResult(status -> {
+            assertFalse(mergeRepository.findByKeyProcessUuidAndKeyDate(FRES_2D_UUID, date).orElseThrow().isGateClosed());
+            assertEquals(Integer.valueOf(1), closingTransactionTemplate.execute(closingStatus -> mergeRepository.closeGate(FRES_2D_UUID, date)));
+            mergeEventService.addMergeIgmEvent(FRES_2D_UUID, "2D", dateTime, "FR", IgmStatus.AVAILABLE, null, null, null, null, null, null);
+        });
+        assertEquals("AVAILABLE", output.receive(1000, "merge.destination").getHeaders().get("status"));
+
+        MergeEntity merge = mergeRepository.findByKeyProcessUuidAndKeyDate(FRES_2D_UUID, date).orElseThrow();
+        assertNull(merge.getStatus());
+        assertTrue(merge.isGateClosed());
+        assertTrue(mergeRepository.findOpenGateDates(FRES_2D_UUID, date.minusHours(1), date.plusHours(1)).isEmpty());
+    }
+
     @Test
     public void testGetMerges() {
         ZonedDateTime dateTime = ZonedDateTime.of(2020, 7, 20, 8, 30, 0, 0, ZoneId.of("UTC"));
@@ -1310,4 +1872,206 @@ public class MergeOrchestratorIT {
         merges = mergeOrchestratorService.getMerges(SWE_1D_UUID, minDate, maxDate);
         assertEquals(1, merges.size());
     }
+
+    @Test
+    public void testGetMergesPage() {
+        ZonedDateTime dateTime1 = ZonedDateTime.of(2020, 7, 20, 8, 30, 0, 0, ZoneId.of("UTC"));
+        ZonedDateTime dateTime2 = dateTime1.plusHours(1);
+        ZonedDateTime dateTime3 = dateTime1.plusHours(2);
+        // saved out of date order
+        for (ZonedDateTime date : List.of(dateTime3, dateTime1, dateTime2)) {
+            mergeRepository.save(new MergeEntity(new MergeEntityKey(SWE_1D_UUID, date.toLocalDateTime()), date.equals(dateTime1) ? MergeStatus.FIRST_LOADFLOW_SUCCEED.name() : null));
+            igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_1D_UUID, date.toLocalDateTime(), "PT"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_PT, UUID_CASE_ID_PT, null, null, null, null));
+            igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_1D_UUID, date.toLocalDateTime(), "FR"), IgmStatus.VALIDATION_SUCCEED.name(), UUID_NETWORK_ID_FR, UUID_CASE_ID_FR, null, null, null, null));
+            igmRepository.save(new IgmEntity(new IgmEntityKey(SWE_1D_UUID, date.toLocalDateTime(), "ES"), IgmStatus.AVAILABLE.name(), null, null, null, null, null, null));
+        }
+        mergeRepository.save(new MergeEntity(new MergeEntityKey(SWE_2D_UUID, dateTime1.toLocalDateTime()), null));
+
+        MergePage<Merge> page = mergeOrchestratorService.getMergesPage(SWE_1D_UUID, null, 2);
+        assertEquals(List.of(dateTime1, dateTime2), page.getMerges().stream().map(Merge::getDate).collect(Collectors.toList()));
+        assertEquals(dateTime2, page.getNextAfter());
+        assertEquals(MergeStatus.FIRST_LOADFLOW_SUCCEED, page.getMerges().get(0).getStatus());
+        assertNull(page.getMerges().get(1).getStatus());
+        assertEquals(List.of("ES", "FR", "PT"), page.getMerges().get(0).getIgms().stream().map(Igm::getTso).collect(Collectors.toList()));
+        assertEquals(IgmStatus.AVAILABLE, page.getMerges().get(0).getIgms().get(0).getStatus());
+
+        page = mergeOrchestratorService.getMergesPage(SWE_1D_UUID, page.getNextAfter(), 2);
+        assertEquals(List.of(dateTime3), page.getMerges().stream().map(Merge::getDate).collect(Collectors.toList()));
+        assertNull(page.getNextAfter());
+        assertEquals(3, page.getMerges().get(0).getIgms().size());
+
+        assertTrue(mergeOrchestratorService.getMergesPage(SWE_1D_UUID, dateTime3, 2).getMerges().isEmpty());
+        assertEquals(1, mergeOrchestratorService.getMergesPage(SWE_2D_UUID, null, 2).getMerges().size());
+        assertTrue(mergeOrchestratorService.getMergesPage(SWE_2D_UUID, null, 2).getMerges().get(0).getIgms().isEmpty());
+
+        MergePage<MergeSummary> summaries = mergeOrchestratorService.getMergeSummariesPage(SWE_1D_UUID, dateTime1, 1);
+        assertEquals(1, summaries.getMerges().size());
+        assertEquals(dateTime2, summaries.getMerges().get(0).getDate());
+        assertEquals(Map.of(IgmStatus.VALIDATION_SUCCEED, 2L, IgmStatus.AVAILABLE, 1L), summaries.getMerges().get(0).getIgmStatusCounts());
+        assertEquals(dateTime2, summaries.getNextAfter());
+    }
+
+    @Test
+    public void testNotificationOutbox() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // not sent until committed
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.emitMergeEvent(SWE_1D_UUID, "1D", "2019-05-01T10:00:00Z", MergeStatus.FIRST_LOADFLOW_SUCCEED.name());
+            notificationService.emitErrorEvent(SWE_1D_UUID, "1D", "error");
+            assertNull(output.receive(100, "merge.destination"));
+        });
+        Message<byte[]> messageMerge = output.receive(1000, "merge.destination");
+        assertEquals(SWE_1D_UUID, messageMerge.getHeaders().get("processUuid"));
+        assertEquals("2019-05-01T10:00:00Z", messageMerge.getHeaders().get("date"));
+        assertEquals(MergeStatus.FIRST_LOADFLOW_SUCCEED.name(), messageMerge.getHeaders().get("status"));
+        assertFalse(messageMerge.getHeaders().containsKey("tso"));
+        Message<byte[]> messageError = output.receive(1000, "merge.destination");
+        assertEquals("error", messageError.getHeaders().get("error"));
+        assertFalse(messageError.getHeaders().containsKey("date"));
+
+        // never sent if rolled back
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationService.emitMergeEvent(SWE_1D_UUID, "1D", "2019-05-01T10:00:00Z", MergeStatus.LOADFLOW_FAILED.name());
+            status.setRollbackOnly();
+        });
+        assertNull(output.receive(1000, "merge.destination"));
+        assertTrue(mergeNotificationRepository.findAll().isEmpty());
+    }
+
+    @Test
+    public void testNotificationOutboxLease() {
+        // leased by another instance : not relayed until the lease expired
+        MergeNotificationEntity notification = new MergeNotificationEntity(SWE_1D_UUID, "1D", "2019-05-01T10:00:00Z", null, MergeStatus.FIRST_LOADFLOW_SUCCEED.name(), null);
+        notification.setLeaseExpiration(LocalDateTime.now(ZoneOffset.UTC).plusMinutes(10));
+        notification = mergeNotificationRepository.save(notification);
+        notificationRelay.poll();
+        assertNull(output.receive(1000, "merge.destination"));
+        assertEquals(1, mergeNotificationRepository.count());
+
+        notification.setLeaseExpiration(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        mergeNotificationRepository.save(notification);
+        notificationRelay.poll();
+        Message<byte[]> messageMerge = output.receive(1000, "merge.destination");
+        assertEquals(MergeStatus.FIRST_LOADFLOW_SUCCEED.name(), messageMerge.getHeaders().get("status"));
+        assertNull(output.receive(1000, "merge.destination"));
+        assertTrue(mergeNotificationRepository.findAll().isEmpty());
+    }
+
+    @Test
+    public void testMergeIgmEventsBatch() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // merges and igms of all the events read in two queries
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+            assertTrue(mergeEventService.addMergeIgmEvents(List.of(
+                    MergeEventService.IgmEvent.of(SWE_1D_UUID, "1D", dateTime, "FR", IgmStatus.AVAILABLE),
+                    MergeEventService.IgmEvent.of(SWE_2D_UUID, "2D", dateTime, "FR", IgmStatus.AVAILABLE),
+                    MergeEventService.IgmEvent.of(FRES_2D_UUID, "2D", dateTime, "FR", IgmStatus.AVAILABLE),
+                    MergeEventService.IgmEvent.of(SWE_1D_UUID, "1D", dateTime, "ES", IgmStatus.AVAILABLE))).isEmpty());
+            assertEquals(2, statistics.getQueryExecutionCount());
+        });
+        assertEquals(3, mergeRepository.findAll().size());
+        assertEquals(4, igmRepository.findAll().size());
+        for (Object[] expected : List.of(new Object[] {SWE_1D_UUID, "FR"}, new Object[] {SWE_2D_UUID, "FR"}, new Object[] {FRES_2D_UUID, "FR"}, new Object[] {SWE_1D_UUID, "ES"})) {
+            Message<byte[]> message = output.receive(1000, "merge.destination");
+            assertEquals(expected[0], message.getHeaders().get("processUuid"));
+            assertEquals(expected[1], message.getHeaders().get("tso"));
+            assertEquals(IgmStatus.AVAILABLE.name(), message.getHeaders().get("status"));
+        }
+
+        mergeEventService.addMergeIgmEvents(List.of(
+                new MergeEventService.IgmEvent(SWE_1D_UUID, "1D", dateTime, "FR", IgmStatus.VALIDATION_SUCCEED, UUID_NETWORK_ID_FR, UUID_CASE_ID_FR, null, null, null, null),
+                new MergeEventService.IgmEvent(SWE_2D_UUID, "2D", dateTime, "FR", IgmStatus.VALIDATION_SUCCEED, UUID_NETWORK_ID_FR, UUID_CASE_ID_FR, null, null, null, null)));
+        assertEquals(UUID_NETWORK_ID_FR, igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(SWE_2D_UUID, LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC), "FR").orElseThrow().getNetworkUuid());
+        assertEquals(IgmStatus.VALIDATION_SUCCEED.name(), output.receive(1000, "merge.destination").getHeaders().get("status"));
+        assertEquals(IgmStatus.VALIDATION_SUCCEED.name(), output.receive(1000, "merge.destination").getHeaders().get("status"));
+
+        // IGM received again : the networks of the replaced IGMs are returned
+        assertEquals(Set.of(UUID_NETWORK_ID_FR), mergeEventService.addMergeIgmEvents(List.of(
+                MergeEventService.IgmEvent.of(SWE_1D_UUID, "1D", dateTime, "FR", IgmStatus.AVAILABLE),
+                MergeEventService.IgmEvent.of(SWE_2D_UUID, "2D", dateTime, "FR", IgmStatus.AVAILABLE))));
+        assertNull(igmRepository.findByKeyProcessUuidAndKeyDateAndKeyTso(SWE_1D_UUID, LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC), "FR").orElseThrow().getNetworkUuid());
+        assertNotNull(output.receive(1000, "merge.destination"));
+        assertNotNull(output.receive(1000, "merge.destination"));
+    }
+
+    @Test
+    public void testMergeLock() throws Exception {
+        LocalDateTime date = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        List<String> runs = new CopyOnWriteArrayList<>();
+        CountDownLatch firstLocked = new CountDownLatch(1);
+        CountDownLatch firstReleased = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> mergeLockService.runLocked(SWE_1D_UUID, date, () -> {
+                firstLocked.countDown();
+                try {
+                    assertTrue(firstReleased.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runs.add("first");
+            }));
+            assertTrue(firstLocked.await(10, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(() -> mergeLockService.runLocked(SWE_1D_UUID, date, () -> runs.add("second")));
+            // another merge is not locked
+            mergeLockService.runLocked(SWE_2D_UUID, date, () -> runs.add("other merge"));
+            Thread.sleep(500);
+            assertEquals(List.of("other merge"), runs);
+
+            firstReleased.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+            assertEquals(List.of("other merge", "first", "second"), runs);
+            assertEquals(0, mergeLockRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // lease left by a crashed instance taken over once expired
+        mergeLockRepository.save(new MergeLockEntity(new MergeEntityKey(SWE_1D_UUID, date), UUID.randomUUID(), LocalDateTime.now(ZoneOffset.UTC).minusSeconds(1)));
+        mergeLockService.runLocked(SWE_1D_UUID, date, () -> runs.add("after expiration"));
+        assertEquals("after expiration", runs.get(3));
+        assertEquals(0, mergeLockRepository.count());
+    }
+
+    @Test
+    public void testMergeLockRenewal() {
+        LocalDateTime date = LocalDateTime.ofInstant(dateTime.toInstant(), ZoneOffset.UTC);
+        MergeEntityKey key = new MergeEntityKey(SWE_1D_UUID, date);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        MergeLockService shortLeaseLockService = new MergeLockService(mergeLockRepository, transactionManager, 1, 10);
+        try {
+            // a computation longer than the lease keeps it
+            shortLeaseLockService.runLocked(SWE_1D_UUID, date, leaseLost -> {
+                UUID owner = mergeLockRepository.findById(key).orElseThrow().getOwner();
+                try {
+                    Thread.sleep(2500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertFalse(leaseLost.getAsBoolean());
+                MergeLockEntity lock = mergeLockRepository.findById(key).orElseThrow();
+                assertEquals(owner, lock.getOwner());
+                assertTrue(lock.getExpiration().isAfter(LocalDateTime.now(ZoneOffset.UTC)));
+
+                // taken over by another instance : the lease is lost
+                transactionTemplate.executeWithoutResult(status -> mergeLockRepository.save(new MergeLockEntity(key, UUID.randomUUID(), LocalDateTime.now(ZoneOffset.UTC).plusMinutes(1))));
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertTrue(leaseLost.getAsBoolean());
+            });
+            // the lease of the other instance is kept
+            assertEquals(1, mergeLockRepository.count());
+        } finally {
+            shortLeaseLockService.shutdown();
+            mergeLockRepository.deleteAll();
+        }
+    }
 }
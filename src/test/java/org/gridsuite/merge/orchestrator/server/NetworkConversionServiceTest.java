@@ -29,15 +29,21 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 /**
@@ -90,10 +96,22 @@ public class NetworkConversionServiceTest {
         byte[] fileContentBe = Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource("MicroGridTestConfiguration_T4_BE_BB_Complete_v2.zip").toURI()));
         byte[] fileContentNl = Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource("MicroGridTestConfiguration_T4_NL_BB_Complete_v2.zip").toURI()));
 
-        when(caseFetcherService.getCases(anyList())).thenReturn(List.of(
-                new FileInfos("MicroGridBE", fileContentBe),
-                new FileInfos("MicroGridNL", fileContentNl)
-        ));
+        UUID caseUuidBe = UUID.randomUUID();
+        UUID caseUuidNl = UUID.randomUUID();
+        // cases are downloaded concurrently
+        CountDownLatch downloadsStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            downloadsStarted.countDown();
+            assertTrue(downloadsStarted.await(10, TimeUnit.SECONDS));
+            invocation.getArgument(1, CaseFetcherService.CaseContentConsumer.class).accept(new ByteArrayInputStream(fileContentBe));
+            return null;
+        }).when(caseFetcherService).getCase(eq(caseUuidBe), any());
+        doAnswer(invocation -> {
+            downloadsStarted.countDown();
+            assertTrue(downloadsStarted.await(10, TimeUnit.SECONDS));
+            invocation.getArgument(1, CaseFetcherService.CaseContentConsumer.class).accept(new ByteArrayInputStream(fileContentNl));
+            return null;
+        }).when(caseFetcherService).getCase(eq(caseUuidNl), any());
 
         HttpHeaders header = new HttpHeaders();
         header.setContentDisposition(ContentDisposition.builder("attachment").filename("fileName", StandardCharsets.UTF_8).build());
@@ -107,7 +125,7 @@ public class NetworkConversionServiceTest {
 
         List<BoundaryContent> boundaries = List.of(new BoundaryContent("idEQBD", "EQBD", "EQ content"), new BoundaryContent("idTPBD", "TPBD", "TP content"));
 
-        FileInfos res = networkConversionService.exportMerge(Arrays.asList(networkUuid1, networkUuid2, networkUuid3), new ArrayList<>(), "CGMES", "merge_name", boundaries);
+        FileInfos res = networkConversionService.exportMerge(Arrays.asList(networkUuid1, networkUuid2, networkUuid3), List.of(caseUuidBe, caseUuidNl), "CGMES", "merge_name", boundaries);
 
         Map<String, byte[]> files = new HashMap<>();
         byte[] buffer = new byte[1024];
@@ -151,6 +169,50 @@ public class NetworkConversionServiceTest {
         assertTrue(files.containsKey("20171002T0930Z_BE_EQ_6.xml"));
     }
 
+    @Test
+    public void testExportCgmesFailureDeletesRunningDownloads() throws Exception {
+        UUID caseUuid = UUID.randomUUID();
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        CountDownLatch exportFailed = new CountDownLatch(1);
+        CountDownLatch downloadDone = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            downloadStarted.countDown();
+            assertTrue(exportFailed.await(10, TimeUnit.SECONDS));
+            invocation.getArgument(1, CaseFetcherService.CaseContentConsumer.class).accept(new ByteArrayInputStream(response));
+            downloadDone.countDown();
+            return null;
+        }).when(caseFetcherService).getCase(eq(caseUuid), any());
+        when(networkConversionServerRest.exchange(anyString(),
+                eq(HttpMethod.GET),
+                any(),
+                any(ParameterizedTypeReference.class),
+                eq(networkUuid1.toString()),
+                eq("CGMES")))
+                .thenAnswer(invocation -> {
+                    assertTrue(downloadStarted.await(10, TimeUnit.SECONDS));
+                    throw new RestClientException("SV export failed");
+                });
+
+        List<UUID> networkUuids = List.of(networkUuid1);
+        List<UUID> caseUuids = List.of(caseUuid);
+        assertThrows(RestClientException.class, () -> networkConversionService.exportCgmesMerge(networkUuids, caseUuids, "merge_name", List.of()));
+        exportFailed.countDown();
+
+        // the download still running when the export failed deletes its file once completed
+        assertTrue(downloadDone.await(10, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (hasDownloadedCase(caseUuid) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(hasDownloadedCase(caseUuid));
+    }
+
+    private static boolean hasDownloadedCase(UUID caseUuid) throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.anyMatch(file -> file.getFileName().toString().startsWith("merge-export-" + caseUuid));
+        }
+    }
+
     @Test
     public void importCaseTest() {
         List<BoundaryContent> boundaries = new ArrayList<>();
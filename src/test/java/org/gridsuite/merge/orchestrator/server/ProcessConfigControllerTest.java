@@ -9,6 +9,8 @@ package org.gridsuite.merge.orchestrator.server;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.gridsuite.merge.orchestrator.server.dto.BoundaryInfo;
 import org.gridsuite.merge.orchestrator.server.dto.ProcessConfig;
+import org.gridsuite.merge.orchestrator.server.dto.ReplacingRules;
+import org.gridsuite.merge.orchestrator.server.dto.ReplacingRulesFormat;
 import org.gridsuite.merge.orchestrator.server.repositories.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,6 +23,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,8 @@ import java.util.UUID;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -60,6 +66,12 @@ public class ProcessConfigControllerTest {
     @Autowired
     private MergeOrchestratorConfigService mergeOrchestratorConfigService;
 
+    @Autowired
+    ReplacingRulesRepository replacingRulesRepository;
+
+    @Autowired
+    private ReplacingRulesService replacingRulesService;
+
     private List<String> tsos = new ArrayList<>();
 
     private static final UUID SWE_1D_UUID = UUID.fromString("11111111-f60e-4766-bc5c-8f312c1984e4");
@@ -96,13 +108,13 @@ public class ProcessConfigControllerTest {
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-                .andExpect(content().json("[{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null},{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}},{\"processUuid\":\"" + SWE_RT_UUID + "\",\"process\":\"SWE_RT\",\"businessProcess\":\"RT\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id2EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id2TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}},{\"processUuid\":\"" + SWE_WK_UUID + "\",\"process\":\"SWE_WK\",\"businessProcess\":\"WK\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}}]", true));
+                .andExpect(content().json("[{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null,\"gateClosureOffsetMinutes\":null},{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null},{\"processUuid\":\"" + SWE_RT_UUID + "\",\"process\":\"SWE_RT\",\"businessProcess\":\"RT\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id2EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id2TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null},{\"processUuid\":\"" + SWE_WK_UUID + "\",\"process\":\"SWE_WK\",\"businessProcess\":\"WK\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null}]", true));
 
         mvc.perform(get("/" + VERSION + "/configs/" + SWE_1D_UUID)
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-                .andExpect(content().json("{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null}", true));
+                .andExpect(content().json("{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null,\"gateClosureOffsetMinutes\":null}", true));
 
         mvc.perform(delete("/" + VERSION + "/configs/" + SWE_1D_UUID)
                 .contentType(APPLICATION_JSON))
@@ -115,7 +127,7 @@ public class ProcessConfigControllerTest {
                 .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-                .andExpect(content().json("[{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}},{\"processUuid\":\"" + SWE_RT_UUID + "\",\"process\":\"SWE_RT\",\"businessProcess\":\"RT\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id2EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id2TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}},{\"processUuid\":\"" + SWE_WK_UUID + "\",\"process\":\"SWE_WK\",\"businessProcess\":\"WK\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}}]", true));
+                .andExpect(content().json("[{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null},{\"processUuid\":\"" + SWE_RT_UUID + "\",\"process\":\"SWE_RT\",\"businessProcess\":\"RT\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id2EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id2TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null},{\"processUuid\":\"" + SWE_WK_UUID + "\",\"process\":\"SWE_WK\",\"businessProcess\":\"WK\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null}]", true));
 
         mvc.perform(post("/" + VERSION + "/configs")
                 .contentType(APPLICATION_JSON)
@@ -129,13 +141,13 @@ public class ProcessConfigControllerTest {
             .contentType(APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-            .andExpect(content().json("{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null}"));
+            .andExpect(content().json("{\"processUuid\":\"" + SWE_1D_UUID + "\",\"process\":\"SWE_1D\",\"businessProcess\":\"1D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":true,\"eqBoundary\":null,\"tpBoundary\":null,\"gateClosureOffsetMinutes\":null}"));
 
         mvc.perform(get("/" + VERSION + "/configs/" + SWE_2D_UUID)
             .contentType(APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-            .andExpect(content().json("{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"}}"));
+            .andExpect(content().json("{\"processUuid\":\"" + SWE_2D_UUID + "\",\"process\":\"SWE_2D\",\"businessProcess\":\"2D\",\"tsos\":[\"FR\",\"ES\",\"PT\"],\"runBalancesAdjustment\":false,\"useLastBoundarySet\":false,\"eqBoundary\":{\"id\":\"id1EQ\",\"filename\":\"filename_EQ.xml\",\"scenarioTime\":\"2021-05-10T10:30:00\"},\"tpBoundary\":{\"id\":\"id1TP\",\"filename\":\"filename_TP.xml\",\"scenarioTime\":\"2021-04-06T07:30:00\"},\"gateClosureOffsetMinutes\":null}"));
 
         mvc.perform(delete("/" + VERSION + "/configs/" + SWE_1D_UUID)
             .contentType(APPLICATION_JSON))
@@ -165,4 +177,64 @@ public class ProcessConfigControllerTest {
         assertEquals(0, processConfigRepository.findAll().size());
         assertEquals(0, boundaryRepository.findAll().size());
     }
+
+    @Test
+    public void replacingRulesTest() throws Exception {
+        replacingRulesRepository.deleteAll();
+        replacingRulesService.reloadReplacingRules();
+        String tableRules;
+        try (InputStream is = getClass().getResourceAsStream("/replaceIGMRules.json")) {
+            tableRules = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        mvc.perform(get("/" + VERSION + "/replacing-rules/1D"))
+                .andExpect(status().isNotFound());
+
+        // invalid rules are rejected, and the default ones kept
+        mvc.perform(put("/" + VERSION + "/replacing-rules/1D")
+                .contentType(APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new ReplacingRules(null, ReplacingRulesFormat.GROOVY, "return [", null))))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/" + VERSION + "/replacing-rules/1D")
+                .contentType(APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new ReplacingRules(null, ReplacingRulesFormat.GROOVY, "return []", null))))
+                .andExpect(status().isBadRequest());
+        // as well as valid Groovy scripts, run with the rights of the server
+        String groovyRules;
+        try (InputStream is = getClass().getResourceAsStream("/replaceIGM.groovy")) {
+            groovyRules = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        mvc.perform(put("/" + VERSION + "/replacing-rules/1D")
+                .contentType(APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new ReplacingRules(null, ReplacingRulesFormat.GROOVY, groovyRules, null))))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, replacingRulesRepository.findAll().size());
+        assertTrue(replacingRulesService.getRules("1D") instanceof ReplacingIgmRuleEngine);
+
+        mvc.perform(put("/" + VERSION + "/replacing-rules/1D")
+                .contentType(APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new ReplacingRules(null, ReplacingRulesFormat.TABLE, tableRules, null))))
+                .andExpect(status().isOk());
+        ReplacingIgmRules rules1D = replacingRulesService.getRules("1D");
+        assertTrue(rules1D instanceof ReplacingIgmRuleTable);
+        assertTrue(replacingRulesService.getRules("2D") instanceof ReplacingIgmRuleEngine);
+
+        mvc.perform(get("/" + VERSION + "/replacing-rules"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(content().json("[{\"businessProcess\":\"1D\",\"format\":\"TABLE\"}]"));
+        mvc.perform(get("/" + VERSION + "/replacing-rules/1D"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"businessProcess\":\"1D\",\"format\":\"TABLE\"}"));
+
+        // unchanged rules are not compiled again
+        replacingRulesService.reloadReplacingRules();
+        assertSame(rules1D, replacingRulesService.getRules("1D"));
+
+        mvc.perform(delete("/" + VERSION + "/replacing-rules/1D"))
+                .andExpect(status().isOk());
+        assertTrue(replacingRulesService.getRules("1D") instanceof ReplacingIgmRuleEngine);
+        mvc.perform(delete("/" + VERSION + "/replacing-rules/1D"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -6,34 +6,29 @@
  */
 package org.gridsuite.merge.orchestrator.server;
 
-import groovy.lang.GroovyShell;
-import groovy.lang.Script;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
 
-import java.io.InputStreamReader;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
 public class ReplaceIGMGroovyTest {
-    private static final Logger LOGGER = LoggerFactory.getLogger(ReplaceIGMGroovyTest.class);
 
-    GroovyShell shell;
-    Script replacingIGMScript;
+    private ReplacingIgmRuleEngine ruleEngine;
 
     @Before
     public void setUp() {
-        shell = new GroovyShell();
-        try {
-            replacingIGMScript = shell.parse(new InputStreamReader(new ClassPathResource("replaceIGM.groovy").getInputStream()));
-        } catch (Exception exc) {
-            LOGGER.error(exc.getMessage());
-        }
+        ruleEngine = ReplacingIgmRuleEngine.fromResource("replaceIGM.groovy");
     }
 
     @Test
@@ -53,7 +48,7 @@ public class ReplaceIGMGroovyTest {
                         "date:2021-01-11T19:30:00Z businessProcess:1D, date:2021-01-11T20:30:00Z businessProcess:1D, " +
                         "date:2021-01-11T21:30:00Z businessProcess:1D, date:2021-01-11T22:30:00Z businessProcess:1D, " +
                         "date:2021-01-11T23:30:00Z businessProcess:1D]",
-                MergeOrchestratorService.execReplaceGroovyScript(replacingIGMScript, "2021-01-11T03:30:00Z", "SWE_1D", "1D").toString());
+                ruleEngine.getReplacingDates("2021-01-11T03:30:00Z", "SWE_1D", "1D").toString());
 
         Assert.assertEquals("[date:2021-01-14T10:30:00Z businessProcess:2D, date:2021-01-14T08:30:00Z businessProcess:2D, " +
                         "date:2021-01-14T11:30:00Z businessProcess:2D, date:2021-01-14T12:30:00Z businessProcess:2D, " +
@@ -69,7 +64,7 @@ public class ReplaceIGMGroovyTest {
                         "date:2021-01-14T18:30:00Z businessProcess:2D, date:2021-01-14T19:30:00Z businessProcess:2D, " +
                         "date:2021-01-14T20:30:00Z businessProcess:2D, date:2021-01-14T21:30:00Z businessProcess:2D, " +
                         "date:2021-01-14T22:30:00Z businessProcess:2D, date:2021-01-14T23:30:00Z businessProcess:2D]",
-                MergeOrchestratorService.execReplaceGroovyScript(replacingIGMScript, "2021-01-14T09:30:00Z", "SWE_2D", "2D").toString());
+                ruleEngine.getReplacingDates("2021-01-14T09:30:00Z", "SWE_2D", "2D").toString());
 
         Assert.assertEquals("[date:2021-01-16T20:30:00Z businessProcess:SN, date:2021-01-16T22:30:00Z businessProcess:SN, " +
                         "date:2021-01-16T19:30:00Z businessProcess:SN, date:2021-01-16T23:30:00Z businessProcess:SN, " +
@@ -85,7 +80,7 @@ public class ReplaceIGMGroovyTest {
                         "date:2021-01-16T13:30:00Z businessProcess:SN, date:2021-01-16T14:30:00Z businessProcess:SN, " +
                         "date:2021-01-16T15:30:00Z businessProcess:SN, date:2021-01-16T16:30:00Z businessProcess:SN, " +
                         "date:2021-01-16T17:30:00Z businessProcess:SN, date:2021-01-16T18:30:00Z businessProcess:SN]",
-                MergeOrchestratorService.execReplaceGroovyScript(replacingIGMScript, "2021-01-16T21:30:00Z", "SWE_SN", "SN").toString());
+                ruleEngine.getReplacingDates("2021-01-16T21:30:00Z", "SWE_SN", "SN").toString());
 
         Assert.assertEquals("[date:2021-01-17T16:30:00Z businessProcess:2D, date:2021-01-17T17:30:00Z businessProcess:2D, " +
                         "date:2021-01-17T14:30:00Z businessProcess:2D, date:2021-01-17T13:30:00Z businessProcess:2D, " +
@@ -102,6 +97,37 @@ public class ReplaceIGMGroovyTest {
                         "date:2021-01-17T19:30:00Z businessProcess:2D, date:2021-01-17T20:30:00Z businessProcess:2D, " +
                         "date:2021-01-17T21:30:00Z businessProcess:2D, date:2021-01-17T22:30:00Z businessProcess:2D, " +
                         "date:2021-01-17T23:30:00Z businessProcess:2D]",
-                MergeOrchestratorService.execReplaceGroovyScript(replacingIGMScript, "2021-01-17T15:30:00Z", "SWE_2D", "2D").toString());
+                ruleEngine.getReplacingDates("2021-01-17T15:30:00Z", "SWE_2D", "2D").toString());
+    }
+
+    @Test
+    public void testMemoization() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        // every timeframe of 3 weeks across a month and a year end, candidates of previous days included
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 20, 0, 30, 0, 0, ZoneOffset.UTC);
+        for (int hour = 0; hour < 21 * 24; hour++) {
+            String timestamp = start.plusHours(hour).format(formatter);
+            Assert.assertEquals(ruleEngine.runScript(timestamp, "SWE_1D", "1D").toString(), ruleEngine.getReplacingDates(timestamp, "SWE_1D", "1D").toString());
+        }
+    }
+
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        List<String> timestamps = List.of("2021-01-11T03:30:00Z", "2021-01-14T09:30:00Z", "2021-01-16T21:30:00Z", "2021-01-17T15:30:00Z");
+        List<String> expected = timestamps.stream().map(timestamp -> ruleEngine.runScript(timestamp, "SWE_2D", "2D").toString()).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> runs = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int index = i % timestamps.size();
+                runs.add(executor.submit(() -> expected.get(index).equals(ruleEngine.runScript(timestamps.get(index), "SWE_2D", "2D").toString())));
+            }
+            for (Future<Boolean> run : runs) {
+                Assert.assertTrue(run.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
     }
 }
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.merge.orchestrator.server;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class ReplacingIgmRuleTableTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private ReplacingIgmRuleEngine ruleEngine;
+
+    private ReplacingIgmRuleTable ruleTable;
+
+    @Before
+    public void setUp() {
+        ruleEngine = ReplacingIgmRuleEngine.fromResource("replaceIGM.groovy");
+        ruleTable = ReplacingIgmRuleTable.fromResource("replaceIGMRules.json");
+    }
+
+    @Test
+    public void testConformance() {
+        // every half hour slot of a week, from monday 2021-01-11
+        ZonedDateTime start = ZonedDateTime.of(2021, 1, 11, 0, 0, 0, 0, ZoneId.of("UTC"));
+        for (int slot = 0; slot < 7 * 48; slot++) {
+            String timestamp = start.plusMinutes(30L * slot).format(FORMATTER);
+            for (String businessProcess : List.of("1D", "2D")) {
+                List<ReplacingDate> expected = ruleEngine.runScript(timestamp, "SWE_" + businessProcess, businessProcess);
+                List<ReplacingDate> actual = ruleTable.getReplacingDates(timestamp, "SWE_" + businessProcess, businessProcess);
+
+                Assert.assertEquals(timestamp, expected.toString(), actual.toString());
+                Assert.assertEquals(timestamp, expected.stream().map(date -> date.getDateTime().toInstant()).toList(),
+                        actual.stream().map(date -> date.getDateTime().toInstant()).toList());
+            }
+        }
+    }
+
+    @Test
+    public void testSecondsIgnored() {
+        Assert.assertEquals(ruleTable.getReplacingDates("2021-01-11T03:30:00Z", "SWE_1D", "1D").toString(),
+                ruleTable.getReplacingDates("2021-01-11T03:30:45Z", "SWE_1D", "1D").toString());
+    }
+}